@@ -0,0 +1,69 @@
+#!/usr/bin/env python3
+"""Compare two JMH JSON result files (mvn -Pjmh test-compile exec:exec) and flag regressions.
+
+Usage: scripts/jmh-compare.py baseline.json candidate.json [--threshold 10]
+
+A benchmark regresses when its score got worse by more than the threshold (percent) and the change is larger
+than the two runs' error margins combined. Exits with status 1 when any benchmark regressed.
+"""
+import argparse
+import json
+import sys
+
+HIGHER_IS_BETTER = {"thrpt"}
+
+
+def load(path):
+    with open(path, encoding="utf-8") as handle:
+        results = {}
+        for entry in json.load(handle):
+            params = ",".join(f"{k}={v}" for k, v in sorted(entry.get("params", {}).items()))
+            name = entry["benchmark"].rsplit(".", 2)[-2:]
+            key = ".".join(name) + (f" [{params}]" if params else "")
+            metric = entry["primaryMetric"]
+            error = metric.get("scoreError")
+            results[key] = {
+                "mode": entry["mode"],
+                "score": metric["score"],
+                "error": 0.0 if error in (None, "NaN") else float(error),
+                "unit": metric["scoreUnit"],
+            }
+        return results
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__, formatter_class=argparse.RawDescriptionHelpFormatter)
+    parser.add_argument("baseline")
+    parser.add_argument("candidate")
+    parser.add_argument("--threshold", type=float, default=10.0, help="allowed slowdown in percent (default 10)")
+    args = parser.parse_args()
+
+    baseline = load(args.baseline)
+    candidate = load(args.candidate)
+    regressions = 0
+
+    print(f"{'benchmark':<60} {'baseline':>14} {'candidate':>14} {'change':>9}")
+    for key in sorted(baseline.keys() | candidate.keys()):
+        old, new = baseline.get(key), candidate.get(key)
+        if old is None or new is None:
+            old_score = "-" if old is None else f"{old['score']:.3f}"
+            new_score = "-" if new is None else f"{new['score']:.3f}"
+            print(f"{key:<60} {old_score:>14} {new_score:>14} {'n/a':>9}")
+            continue
+        change = (new["score"] - old["score"]) / old["score"] * 100 if old["score"] else 0.0
+        worse = -change if old["mode"] in HIGHER_IS_BETTER else change
+        significant = abs(new["score"] - old["score"]) > old["error"] + new["error"]
+        flag = ""
+        if worse > args.threshold and significant:
+            flag = "  REGRESSION"
+            regressions += 1
+        print(f"{key:<60} {old['score']:>14.3f} {new['score']:>14.3f} {change:>+8.1f}%{flag}  {new['unit']}")
+
+    if regressions:
+        print(f"\n{regressions} benchmark(s) regressed by more than {args.threshold:g}%")
+        return 1
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
@@ -0,0 +1,123 @@
+package com.axseniors.salesorders.jmh;
+
+import com.axseniors.salesorders.SalesOrdersApplication;
+import com.axseniors.salesorders.domain.Customer;
+import com.axseniors.salesorders.domain.Product;
+import com.axseniors.salesorders.dto.BulkOrderResponse;
+import com.axseniors.salesorders.dto.OrderLineRequest;
+import com.axseniors.salesorders.dto.OrderUpsertRequest;
+import com.axseniors.salesorders.repo.CustomerRepo;
+import com.axseniors.salesorders.repo.ProductRepo;
+import com.axseniors.salesorders.service.BulkOrderImportService;
+import com.axseniors.salesorders.service.SalesOrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Orders per second through the bulk import against the same orders created one {@code createOrder} call (one
+ * transaction) at a time, on H2 in PostgreSQL mode as in {@link OrderCreateBenchmark}. Both score per order, so
+ * the ratio of the two is the bulk speed-up; each invocation handles {@value #ORDERS} orders of
+ * {@value #LINES} lines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BulkImportBenchmark {
+
+    private static final int ORDERS = 1000;
+    private static final int LINES = 5;
+
+    private ConfigurableApplicationContext context;
+    private SalesOrderService salesOrderService;
+    private BulkOrderImportService bulkOrderImportService;
+    private List<OrderUpsertRequest> requests;
+    private byte[] ndjson;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException {
+        context = new SpringApplicationBuilder(SalesOrdersApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.datasource.url=jdbc:h2:mem:jmh-bulk;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                        + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+        salesOrderService = context.getBean(SalesOrderService.class);
+        bulkOrderImportService = context.getBean(BulkOrderImportService.class);
+
+        Customer customer = context.getBean(CustomerRepo.class).findAll().get(0);
+        List<Product> products = context.getBean(ProductRepo.class).findAll();
+        requests = new ArrayList<>(ORDERS);
+        for (int o = 0; o < ORDERS; o++) {
+            List<OrderLineRequest> lines = new ArrayList<>();
+            for (int i = 0; i < LINES; i++) {
+                Product product = products.get((o + i) % products.size());
+                OrderLineRequest line = new OrderLineRequest();
+                line.setProductId(product.getId());
+                line.setQuantity(1 + i);
+                line.setUnitPrice(product.getBasePrice());
+                line.setDiscountPct(BigDecimal.valueOf(i % 4 * 5L));
+                lines.add(line);
+            }
+            OrderUpsertRequest request = new OrderUpsertRequest();
+            request.setCustomerId(customer.getId());
+            request.setOrderDate(LocalDate.now());
+            request.setLines(lines);
+            requests.add(request);
+        }
+
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        StringBuilder body = new StringBuilder();
+        for (OrderUpsertRequest request : requests) {
+            body.append(objectMapper.writeValueAsString(request)).append('\n');
+        }
+        ndjson = body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public void createOneByOne(Blackhole blackhole) {
+        for (OrderUpsertRequest request : requests) {
+            blackhole.consume(salesOrderService.createOrder(request));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public BulkOrderResponse importInChunks() {
+        return bulkOrderImportService.importOrders(new ByteArrayInputStream(ndjson));
+    }
+}
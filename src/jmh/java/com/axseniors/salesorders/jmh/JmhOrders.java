@@ -0,0 +1,77 @@
+package com.axseniors.salesorders.jmh;
+
+import com.axseniors.salesorders.domain.Customer;
+import com.axseniors.salesorders.domain.Product;
+import com.axseniors.salesorders.domain.SalesOrder;
+import com.axseniors.salesorders.domain.SalesOrderLine;
+import com.axseniors.salesorders.domain.SalesOrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Orders for the benchmarks: in memory with ids assigned by hand, or new entities ready to be persisted.
+ */
+final class JmhOrders {
+
+    private static final BigDecimal[] PRICES = {
+            new BigDecimal("8.50"), new BigDecimal("25.00"), new BigDecimal("45.90"), new BigDecimal("180.00")};
+    private static final BigDecimal[] DISCOUNTS = {
+            BigDecimal.ZERO, new BigDecimal("5"), new BigDecimal("12.5"), new BigDecimal("33")};
+
+    private JmhOrders() {
+    }
+
+    static SalesOrder order(int lineCount) {
+        Customer customer = new Customer("Autopartes Norte", "Laura Gómez", "contacto@autopartesnorte.com",
+                "+57 3001234567", "Av. Central 123", "Bogotá", "900123456");
+        customer.setId(UUID.randomUUID());
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Product product = new Product("REP-" + i, "Producto " + i, PRICES[i % PRICES.length]);
+            product.setId(UUID.randomUUID());
+            products.add(product);
+        }
+
+        SalesOrder order = new SalesOrder();
+        order.setId(UUID.randomUUID());
+        order.setOrderNumber("SO-20240101-0001");
+        order.setCustomer(customer);
+        order.setOrderDate(LocalDate.of(2024, 1, 1));
+        order.setStatus(SalesOrderStatus.DRAFT);
+        for (int i = 0; i < lineCount; i++) {
+            SalesOrderLine line = new SalesOrderLine();
+            line.setId(UUID.randomUUID());
+            line.setProduct(products.get(i % products.size()));
+            line.setQuantity(1 + i % 7);
+            line.setUnitPrice(PRICES[i % PRICES.length]);
+            line.setDiscountPct(DISCOUNTS[i % DISCOUNTS.length]);
+            order.addLine(line);
+        }
+        return order;
+    }
+
+    /**
+     * A new order of {@code lineCount} lines over existing products, for benchmarks that persist it; the ids are
+     * left to the generator.
+     */
+    static SalesOrder newOrder(Customer customer, List<Product> products, int lineCount, LocalDate orderDate) {
+        SalesOrder order = new SalesOrder();
+        order.setOrderNumber("JMH-" + UUID.randomUUID());
+        order.setCustomer(customer);
+        order.setOrderDate(orderDate);
+        for (int i = 0; i < lineCount; i++) {
+            SalesOrderLine line = new SalesOrderLine();
+            line.setProduct(products.get(i % products.size()));
+            line.setQuantity(1 + i % 7);
+            line.setUnitPrice(PRICES[i % PRICES.length]);
+            line.setDiscountPct(DISCOUNTS[i % DISCOUNTS.length]);
+            order.addLine(line);
+        }
+        return order;
+    }
+}
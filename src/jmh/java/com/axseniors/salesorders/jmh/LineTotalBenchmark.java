@@ -0,0 +1,71 @@
+package com.axseniors.salesorders.jmh;
+
+import com.axseniors.salesorders.domain.SalesOrder;
+import com.axseniors.salesorders.domain.SalesOrderLine;
+import com.axseniors.salesorders.service.OrderPricing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cents-based line pricing in {@link OrderPricing} against the previous all-{@code BigDecimal} formula. Add
+ * {@code -prof gc} to the JMH arguments to compare allocation per operation as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LineTotalBenchmark {
+
+    @Param({"50", "1000"})
+    public int lines;
+
+    private final OrderPricing orderPricing = new OrderPricing();
+    private List<SalesOrderLine> orderLines;
+
+    @Setup
+    public void setUp() {
+        SalesOrder order = JmhOrders.order(lines);
+        orderLines = order.getLines();
+    }
+
+    @Benchmark
+    public void centsLineTotals(Blackhole blackhole) {
+        for (SalesOrderLine line : orderLines) {
+            blackhole.consume(orderPricing.calculateLineTotal(line));
+        }
+    }
+
+    @Benchmark
+    public void bigDecimalLineTotals(Blackhole blackhole) {
+        for (SalesOrderLine line : orderLines) {
+            BigDecimal discountFactor = BigDecimal.ONE.subtract(
+                    line.getDiscountPct().divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP));
+            blackhole.consume(line.getUnitPrice()
+                    .multiply(BigDecimal.valueOf(line.getQuantity()))
+                    .multiply(discountFactor)
+                    .setScale(2, RoundingMode.HALF_UP));
+        }
+    }
+
+    @Benchmark
+    public Object centsOrderTotals() {
+        return orderPricing.calculate(orderLines);
+    }
+}
@@ -0,0 +1,92 @@
+package com.axseniors.salesorders.jmh;
+
+import com.axseniors.salesorders.SalesOrdersApplication;
+import com.axseniors.salesorders.domain.Customer;
+import com.axseniors.salesorders.domain.Product;
+import com.axseniors.salesorders.dto.OrderLineRequest;
+import com.axseniors.salesorders.dto.OrderResponse;
+import com.axseniors.salesorders.dto.OrderUpsertRequest;
+import com.axseniors.salesorders.repo.CustomerRepo;
+import com.axseniors.salesorders.repo.ProductRepo;
+import com.axseniors.salesorders.service.SalesOrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code SalesOrderService.createOrder} end to end against H2 in PostgreSQL mode (the test profile), as a
+ * stand-in for a real PostgreSQL: it measures our mapping, batching and round-trip count rather than the
+ * database itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderCreateBenchmark {
+
+    @Param({"1", "50", "1000"})
+    public int lines;
+
+    private ConfigurableApplicationContext context;
+    private SalesOrderService salesOrderService;
+    private OrderUpsertRequest request;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(SalesOrdersApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.datasource.url=jdbc:h2:mem:jmh;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                        + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+        salesOrderService = context.getBean(SalesOrderService.class);
+
+        Customer customer = context.getBean(CustomerRepo.class).findAll().get(0);
+        List<Product> products = context.getBean(ProductRepo.class).findAll();
+        List<OrderLineRequest> orderLines = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            OrderLineRequest line = new OrderLineRequest();
+            line.setProductId(products.get(i % products.size()).getId());
+            line.setQuantity(1 + i % 7);
+            line.setUnitPrice(products.get(i % products.size()).getBasePrice());
+            line.setDiscountPct(BigDecimal.valueOf(i % 4 * 5L));
+            orderLines.add(line);
+        }
+        request = new OrderUpsertRequest();
+        request.setCustomerId(customer.getId());
+        request.setOrderDate(LocalDate.now());
+        request.setLines(orderLines);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponse createOrder() {
+        return salesOrderService.createOrder(request);
+    }
+}
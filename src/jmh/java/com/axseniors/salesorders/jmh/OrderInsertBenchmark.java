@@ -0,0 +1,86 @@
+package com.axseniors.salesorders.jmh;
+
+import com.axseniors.salesorders.SalesOrdersApplication;
+import com.axseniors.salesorders.domain.Customer;
+import com.axseniors.salesorders.domain.Product;
+import com.axseniors.salesorders.repo.CustomerRepo;
+import com.axseniors.salesorders.repo.ProductRepo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persists one order of {@value #LINES} lines per invocation with the JDBC batch size of the session set to 1
+ * (no batching) and to the configured 50, on H2 in PostgreSQL mode as in {@link OrderCreateBenchmark}. Rows per
+ * second are {@value #LINES} + 1 divided by the score.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderInsertBenchmark {
+
+    private static final int LINES = 300;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private Customer customer;
+    private List<Product> products;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(SalesOrdersApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.datasource.url=jdbc:h2:mem:jmh-insert;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                        + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        customer = context.getBean(CustomerRepo.class).findAll().get(0);
+        products = context.getBean(ProductRepo.class).findAll();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public void insertOrder() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            entityManager.getTransaction().begin();
+            entityManager.persist(JmhOrders.newOrder(customer, products, LINES, LocalDate.now()));
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+    }
+}
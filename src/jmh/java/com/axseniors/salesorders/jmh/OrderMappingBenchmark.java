@@ -0,0 +1,65 @@
+package com.axseniors.salesorders.jmh;
+
+import com.axseniors.salesorders.domain.SalesOrder;
+import com.axseniors.salesorders.domain.SalesOrderLine;
+import com.axseniors.salesorders.dto.OrderResponse;
+import com.axseniors.salesorders.service.OrderMapper;
+import com.axseniors.salesorders.service.OrderPricing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Line pricing and entity-to-response mapping for orders of 1, 50 and 1,000 lines, with totals already stored
+ * on the order (the normal read path) and with totals missing (computed during mapping).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderMappingBenchmark {
+
+    @Param({"1", "50", "1000"})
+    public int lines;
+
+    @Param({"true", "false"})
+    public boolean storedTotals;
+
+    private final OrderPricing orderPricing = new OrderPricing();
+    private final OrderMapper orderMapper = new OrderMapper(orderPricing);
+    private SalesOrder order;
+
+    @Setup
+    public void setUp() {
+        order = JmhOrders.order(lines);
+        orderPricing.applyTotals(order);
+    }
+
+    @Benchmark
+    public void calculateLineTotals(Blackhole blackhole) {
+        for (SalesOrderLine line : order.getLines()) {
+            blackhole.consume(orderPricing.calculateLineTotal(line));
+        }
+    }
+
+    @Benchmark
+    public OrderResponse toResponse() {
+        if (!storedTotals) {
+            order.setOrderTotal(null);
+        }
+        return orderMapper.toResponse(order);
+    }
+}
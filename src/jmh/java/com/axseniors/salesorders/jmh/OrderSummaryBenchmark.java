@@ -0,0 +1,105 @@
+package com.axseniors.salesorders.jmh;
+
+import com.axseniors.salesorders.SalesOrdersApplication;
+import com.axseniors.salesorders.domain.Customer;
+import com.axseniors.salesorders.domain.Product;
+import com.axseniors.salesorders.domain.SalesOrder;
+import com.axseniors.salesorders.dto.OrderListFilter;
+import com.axseniors.salesorders.dto.OrderPageResponse;
+import com.axseniors.salesorders.dto.OrderSummaryPageResponse;
+import com.axseniors.salesorders.repo.CustomerRepo;
+import com.axseniors.salesorders.repo.ProductRepo;
+import com.axseniors.salesorders.repo.SalesOrderRepo;
+import com.axseniors.salesorders.service.SalesOrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads every active order through the pages of {@code listOrders} (entities, lines and products) and through the
+ * pages of the header-only summary projection, over {@value #ORDERS} orders of {@value #LINES} lines on H2 in
+ * PostgreSQL mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderSummaryBenchmark {
+
+    private static final int ORDERS = 2_000;
+    private static final int LINES = 20;
+    private static final int PAGE_SIZE = 200;
+
+    private ConfigurableApplicationContext context;
+    private SalesOrderService salesOrderService;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(SalesOrdersApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.datasource.url=jdbc:h2:mem:jmh-summary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                        + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+        salesOrderService = context.getBean(SalesOrderService.class);
+
+        Customer customer = context.getBean(CustomerRepo.class).findAll().get(0);
+        List<Product> products = context.getBean(ProductRepo.class).findAll();
+        List<SalesOrder> orders = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            orders.add(JmhOrders.newOrder(customer, products, LINES, LocalDate.now().minusDays(i % 365)));
+        }
+        context.getBean(SalesOrderRepo.class).saveAll(orders);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public int orderPages() {
+        OrderListFilter filter = OrderListFilter.builder().build();
+        int count = 0;
+        String cursor = null;
+        do {
+            OrderPageResponse page = salesOrderService.listOrders(filter, cursor, PAGE_SIZE);
+            count += page.getItems().size();
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return count;
+    }
+
+    @Benchmark
+    public int summaryPages() {
+        OrderListFilter filter = OrderListFilter.builder().build();
+        int count = 0;
+        String cursor = null;
+        do {
+            OrderSummaryPageResponse page = salesOrderService.listOrderSummaries(filter, cursor, PAGE_SIZE);
+            count += page.getItems().size();
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return count;
+    }
+}
@@ -0,0 +1,108 @@
+package com.axseniors.salesorders.jmh;
+
+import com.axseniors.salesorders.SalesOrdersApplication;
+import com.axseniors.salesorders.domain.Customer;
+import com.axseniors.salesorders.domain.Product;
+import com.axseniors.salesorders.domain.SalesOrder;
+import com.axseniors.salesorders.repo.CustomerRepo;
+import com.axseniors.salesorders.repo.ProductRepo;
+import com.axseniors.salesorders.repo.SalesOrderRepo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code GET /api/orders/{id}} over HTTP from {@value #CLIENTS} concurrent clients, twice the 200 Tomcat worker
+ * threads, against the application on platform threads and on virtual threads with a pool of {@value #POOL_SIZE}
+ * connections. Sample mode reports the latency percentiles alongside the request rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(RequestConcurrencyBenchmark.CLIENTS)
+@Fork(1)
+public class RequestConcurrencyBenchmark {
+
+    static final int CLIENTS = 400;
+    private static final int ORDERS = 200;
+    private static final int LINES = 20;
+    private static final int POOL_SIZE = 20;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private List<URI> orderUris;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(SalesOrdersApplication.class)
+                .profiles("test")
+                .properties("server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:jmh-concurrency;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                                + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "spring.datasource.hikari.connection-timeout=120000",
+                        "logging.level.root=WARN")
+                .run();
+
+        Customer customer = context.getBean(CustomerRepo.class).findAll().get(0);
+        List<Product> products = context.getBean(ProductRepo.class).findAll();
+        List<SalesOrder> orders = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            orders.add(JmhOrders.newOrder(customer, products, LINES, LocalDate.now()));
+        }
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        orderUris = context.getBean(SalesOrderRepo.class).saveAll(orders).stream()
+                .map(order -> URI.create("http://localhost:" + port + "/api/orders/" + order.getId()))
+                .toList();
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int getOrder() throws IOException, InterruptedException {
+        URI uri = orderUris.get(ThreadLocalRandom.current().nextInt(orderUris.size()));
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofMinutes(2)).build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + uri + " returned " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
@@ -7,6 +7,7 @@ import com.axseniors.salesorders.repo.ProductRepo;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -18,7 +19,9 @@ public class DataSeeder implements CommandLineRunner {
     private final CustomerRepo customerRepo;
     private final ProductRepo productRepo;
 
+    // One read-write transaction, so the emptiness checks read the primary rather than a replica.
     @Override
+    @Transactional
     public void run(String... args) {
         seedCustomers();
         seedProducts();
@@ -0,0 +1,34 @@
+package com.axseniors.salesorders.bootstrap;
+
+import com.axseniors.salesorders.service.OrderTotalsMaintenanceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Opt-in backfill of stored totals at startup ({@code sales-orders.totals.backfill-on-startup}). It runs in the
+ * background, one transaction per batch, so the application serves requests meanwhile; orders still without
+ * stored totals are answered with calculated ones. {@code POST /api/admin/order-totals/backfill} does the same
+ * on demand.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "sales-orders.totals.backfill-on-startup", havingValue = "true")
+public class OrderTotalsBackfillRunner implements CommandLineRunner {
+
+    private final OrderTotalsMaintenanceService orderTotalsMaintenanceService;
+
+    @Override
+    public void run(String... args) {
+        Thread.ofVirtual().name("order-totals-backfill").start(() -> {
+            try {
+                orderTotalsMaintenanceService.backfillMissingTotals();
+            } catch (RuntimeException ex) {
+                log.error("Backfill of stored order totals failed; it can be resumed with POST /api/admin/order-totals/backfill", ex);
+            }
+        });
+    }
+}
@@ -0,0 +1,34 @@
+package com.axseniors.salesorders.config;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * The database product behind the application data source, for the few statements that have no portable
+ * form (upserts, trigram search). Everything else sticks to SQL that PostgreSQL and H2 both accept.
+ */
+@Component
+public class DatabaseVendor {
+
+    private final String productName;
+
+    public DatabaseVendor(DataSource dataSource) {
+        try {
+            this.productName = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        } catch (MetaDataAccessException ex) {
+            throw new IllegalStateException("Cannot read database metadata", ex);
+        }
+    }
+
+    public boolean isPostgres() {
+        return "PostgreSQL".equalsIgnoreCase(productName);
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+}
@@ -0,0 +1,35 @@
+package com.axseniors.salesorders.config;
+
+import com.axseniors.salesorders.outbox.FileOrderEventSink;
+import com.axseniors.salesorders.outbox.OrderEventSink;
+import com.axseniors.salesorders.outbox.WebhookOrderEventSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+@EnableScheduling
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "sales-orders.outbox.sink", havingValue = "webhook")
+    public OrderEventSink webhookOrderEventSink(@Value("${sales-orders.outbox.webhook-url}") URI endpoint,
+                                                @Value("${sales-orders.outbox.webhook-timeout:10s}") Duration timeout,
+                                                ObjectMapper objectMapper) {
+        return new WebhookOrderEventSink(endpoint, timeout, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "sales-orders.outbox.sink", havingValue = "file", matchIfMissing = true)
+    public OrderEventSink fileOrderEventSink(@Value("${sales-orders.outbox.file:order-events.ndjson}") Path file,
+                                             ObjectMapper objectMapper) {
+        return new FileOrderEventSink(file, objectMapper);
+    }
+}
@@ -0,0 +1,83 @@
+package com.axseniors.salesorders.config;
+
+import com.axseniors.salesorders.replica.ReadYourWrites;
+import com.axseniors.salesorders.replica.ReadYourWritesFilter;
+import com.axseniors.salesorders.replica.ReplicaPools;
+import com.axseniors.salesorders.replica.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas, enabled with {@code sales-orders.replicas.enabled}. Replaces the auto-configured data source
+ * with one that routes read-only transactions to the replicas in {@code sales-orders.replicas.urls} (see
+ * {@link ReplicaRoutingDataSource}). The primary pool is built from {@code spring.datasource.*} as before;
+ * the pools themselves are not beans, so the query metrics wrapper sees a single data source.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sales-orders.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReplicaPools replicaPools(DataSourceProperties properties,
+                                     Environment environment,
+                                     @Value("${sales-orders.replicas.urls}") List<String> urls,
+                                     @Value("${sales-orders.replicas.username:${spring.datasource.username:}}") String username,
+                                     @Value("${sales-orders.replicas.password:${spring.datasource.password:}}") String password,
+                                     @Value("${sales-orders.replicas.pool-size:${DATABASE_POOL_SIZE:10}}") int poolSize,
+                                     @Value("${sales-orders.replicas.connection-timeout:2s}") Duration connectionTimeout,
+                                     @Value("${sales-orders.replicas.max-lag:5s}") Duration maxLag,
+                                     @Value("${sales-orders.replicas.lag-query}") String lagQuery) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urls.get(i).strip());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(poolSize);
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            replica.setReadOnly(true);
+            // Start even if a replica is down; it joins the rotation once a health check passes.
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(replica);
+        }
+        return new ReplicaPools(primary, replicas, maxLag, lagQuery);
+    }
+
+    @Bean
+    public DataSource dataSource(ReplicaPools replicaPools) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(replicaPools));
+    }
+
+    /**
+     * Applied by Spring Boot to the application task executor, which runs async request handling (streamed
+     * responses, {@code WebAsyncTask}); without it that work would lose the request's read-your-writes flag.
+     */
+    @Bean
+    public TaskDecorator readYourWritesTaskDecorator() {
+        return ReadYourWrites::propagate;
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(@Value("${sales-orders.replicas.stickiness:5s}") Duration stickiness) {
+        return new ReadYourWritesFilter(stickiness);
+    }
+}
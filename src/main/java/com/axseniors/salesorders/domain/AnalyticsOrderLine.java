@@ -0,0 +1,44 @@
+package com.axseniors.salesorders.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Read-only order line over the {@code analytics_order_lines} view (see {@link AnalyticsOrder}).
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "analytics_order_lines")
+public class AnalyticsOrderLine {
+
+    @Id
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id")
+    private AnalyticsOrder order;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id")
+    private Product product;
+
+    private Integer quantity;
+
+    private BigDecimal unitPrice;
+
+    @Column(precision = 19, scale = 2)
+    private BigDecimal lineTotal;
+}
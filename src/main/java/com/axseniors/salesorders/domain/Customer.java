@@ -2,17 +2,19 @@ package com.axseniors.salesorders.domain;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @Getter
@@ -23,9 +25,18 @@ import java.util.UUID;
 public class Customer {
 
 @Id
-@GeneratedValue(strategy = GenerationType.AUTO)
+@UuidV7
 private UUID id;
 
+@Version
+@ColumnDefault("0")
+@Column(nullable = false)
+private Long version;
+
+@UpdateTimestamp
+@Column(nullable = false)
+private Instant updatedAt;
+
 @NotBlank
 @Column(nullable = false)
 private String name;
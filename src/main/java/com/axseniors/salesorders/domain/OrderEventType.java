@@ -0,0 +1,8 @@
+package com.axseniors.salesorders.domain;
+
+public enum OrderEventType {
+    ORDER_CREATED,
+    ORDER_UPDATED,
+    ORDER_CONFIRMED,
+    ORDER_CANCELLED
+}
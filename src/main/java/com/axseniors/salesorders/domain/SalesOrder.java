@@ -6,21 +6,26 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Getter
@@ -31,9 +36,14 @@ import java.util.UUID;
 public class SalesOrder {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     private UUID id;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @Column(nullable = false, unique = true)
     private String orderNumber;
 
@@ -47,15 +57,27 @@ public class SalesOrder {
 
     private LocalDate deliveryDate;
 
+    // varchar columns as in the migrations; without the type code Hibernate expects a native enum on H2
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     @Column(nullable = false)
     private SalesOrderStatus status = SalesOrderStatus.DRAFT;
 
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     private CancelReason cancelReason;
 
     private String cancelNote;
 
+    @Column(precision = 19, scale = 2)
+    private BigDecimal orderTotal;
+
+    @Column(precision = 19, scale = 2)
+    private BigDecimal orderSubtotal;
+
+    @Column(precision = 19, scale = 2)
+    private BigDecimal orderDiscountTotal;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<SalesOrderLine> lines = new ArrayList<>();
 
@@ -65,7 +87,11 @@ public class SalesOrder {
     }
 
     public void replaceLines(List<SalesOrderLine> newLines) {
-        lines.clear();
-        newLines.forEach(this::addLine);
+        Set<SalesOrderLine> retained = new HashSet<>(newLines);
+        lines.removeIf(line -> !retained.contains(line));
+        Set<SalesOrderLine> current = new HashSet<>(lines);
+        newLines.stream()
+                .filter(line -> !current.contains(line))
+                .forEach(this::addLine);
     }
 }
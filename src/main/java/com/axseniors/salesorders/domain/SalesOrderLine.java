@@ -3,8 +3,6 @@ package com.axseniors.salesorders.domain;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -27,7 +25,7 @@ import java.util.UUID;
 public class SalesOrderLine {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -52,4 +50,7 @@ public class SalesOrderLine {
     @DecimalMin(value = "0.0", inclusive = true)
     @Column(nullable = false)
     private BigDecimal discountPct;
+
+    @Column(precision = 19, scale = 2)
+    private BigDecimal lineTotal;
 }
@@ -0,0 +1,7 @@
+package com.axseniors.salesorders.domain;
+
+public enum SearchResultType {
+    ORDER,
+    CUSTOMER,
+    PRODUCT
+}
@@ -0,0 +1,18 @@
+package com.axseniors.salesorders.domain;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Assigns a time-ordered UUID (RFC 9562 version 7) in the application before the insert, so ids never
+ * require a database round trip and new rows land at the right-hand edge of the primary key index.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface UuidV7 {
+}
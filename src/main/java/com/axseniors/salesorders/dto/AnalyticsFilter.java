@@ -0,0 +1,15 @@
+package com.axseniors.salesorders.dto;
+
+import com.axseniors.salesorders.domain.SalesOrderStatus;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+@Value
+@Builder
+public class AnalyticsFilter {
+    LocalDate fromDate;
+    LocalDate toDate;
+    SalesOrderStatus status;
+}
@@ -0,0 +1,17 @@
+package com.axseniors.salesorders.dto;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.With;
+
+import java.util.UUID;
+
+@Value
+@Builder
+public class BulkOrderItemResult {
+    @With
+    int index;
+    UUID orderId;
+    String orderNumber;
+    String error;
+}
@@ -0,0 +1,15 @@
+package com.axseniors.salesorders.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class BulkOrderResponse {
+    int received;
+    int created;
+    int failed;
+    List<BulkOrderItemResult> results;
+}
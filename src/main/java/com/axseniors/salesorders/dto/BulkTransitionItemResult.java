@@ -0,0 +1,15 @@
+package com.axseniors.salesorders.dto;
+
+import com.axseniors.salesorders.domain.SalesOrderStatus;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.UUID;
+
+@Value
+@Builder
+public class BulkTransitionItemResult {
+    UUID orderId;
+    SalesOrderStatus status;
+    String error;
+}
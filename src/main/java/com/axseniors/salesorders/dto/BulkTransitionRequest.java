@@ -0,0 +1,28 @@
+package com.axseniors.salesorders.dto;
+
+import com.axseniors.salesorders.domain.CancelReason;
+import com.axseniors.salesorders.domain.SalesOrderStatus;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Selects the orders of a bulk transition, either by id or by filter (not both). {@code reason} and
+ * {@code note} are only used when cancelling.
+ */
+@Data
+public class BulkTransitionRequest {
+    @Size(max = 10000)
+    private List<UUID> orderIds;
+
+    private UUID customerId;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private SalesOrderStatus status;
+
+    private CancelReason reason;
+    private String note;
+}
@@ -0,0 +1,15 @@
+package com.axseniors.salesorders.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class BulkTransitionResponse {
+    int requested;
+    int transitioned;
+    int failed;
+    List<BulkTransitionItemResult> results;
+}
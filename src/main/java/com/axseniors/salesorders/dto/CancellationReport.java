@@ -0,0 +1,23 @@
+package com.axseniors.salesorders.dto;
+
+import com.axseniors.salesorders.domain.CancelReason;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class CancellationReport {
+    long ordersPlaced;
+    long ordersCancelled;
+    double cancellationRate;
+    List<ReasonCount> byReason;
+
+    @Value
+    public static class ReasonCount {
+        CancelReason reason;
+        long orders;
+        double rate;
+    }
+}
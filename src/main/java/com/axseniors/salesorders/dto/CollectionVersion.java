@@ -0,0 +1,18 @@
+package com.axseniors.salesorders.dto;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Row count, sum of the optimistic-lock versions and latest modification of a table, as a cheap validator for
+ * list responses. Every update bumps a version, so the sum moves even when two updates share a timestamp or
+ * the latest row is not the one changed; the count covers deletes and the latest modification covers a delete
+ * followed by an insert.
+ */
+@Value
+public class CollectionVersion {
+    long count;
+    long versionSum;
+    Instant lastModified;
+}
@@ -0,0 +1,25 @@
+package com.axseniors.salesorders.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Immutable copy of a customer, as returned by the API and kept in the master data caches.
+ */
+@Value
+@Builder
+public class CustomerResponse {
+    UUID id;
+    Long version;
+    Instant updatedAt;
+    String name;
+    String contactName;
+    String email;
+    String phone;
+    String address;
+    String city;
+    String taxId;
+}
@@ -0,0 +1,15 @@
+package com.axseniors.salesorders.dto;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Value
+public class CustomerRevenue {
+    UUID customerId;
+    String customerName;
+    long orders;
+    BigDecimal revenue;
+    BigDecimal discountTotal;
+}
@@ -0,0 +1,22 @@
+package com.axseniors.salesorders.dto;
+
+import com.axseniors.salesorders.domain.OrderEventType;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An order change as delivered to consumers. {@code id} increases with every event and is the key consumers
+ * use to drop duplicates, since delivery is at least once; {@code payload} is the order as returned by the API.
+ */
+@Value
+public class OrderEvent {
+    long id;
+    OrderEventType type;
+    UUID orderId;
+    Instant occurredAt;
+    @JsonRawValue
+    String payload;
+}
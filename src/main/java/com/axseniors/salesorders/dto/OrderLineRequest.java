@@ -11,6 +11,8 @@ import java.util.UUID;
 @Data
 public class OrderLineRequest {
 
+    private UUID lineId;
+
     @NotNull
     private UUID productId;
 
@@ -0,0 +1,18 @@
+package com.axseniors.salesorders.dto;
+
+import com.axseniors.salesorders.domain.SalesOrderStatus;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Value
+@Builder
+public class OrderListFilter {
+    SalesOrderStatus status;
+    boolean includeCancelled;
+    UUID customerId;
+    LocalDate fromDate;
+    LocalDate toDate;
+}
@@ -11,7 +11,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Value
-@Builder
+@Builder(toBuilder = true)
 public class OrderResponse {
     UUID id;
     String orderNumber;
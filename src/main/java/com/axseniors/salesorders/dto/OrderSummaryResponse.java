@@ -0,0 +1,20 @@
+package com.axseniors.salesorders.dto;
+
+import com.axseniors.salesorders.domain.SalesOrderStatus;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Value
+public class OrderSummaryResponse {
+    UUID id;
+    String orderNumber;
+    UUID customerId;
+    String customerName;
+    SalesOrderStatus status;
+    LocalDate orderDate;
+    LocalDate deliveryDate;
+    BigDecimal orderTotal;
+}
@@ -0,0 +1,16 @@
+package com.axseniors.salesorders.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+import java.util.UUID;
+
+@Value
+@Builder
+public class OrderTotalsReport {
+    long ordersChecked;
+    long ordersMismatched;
+    long ordersMissingTotals;
+    List<UUID> sampleMismatchedOrderIds;
+}
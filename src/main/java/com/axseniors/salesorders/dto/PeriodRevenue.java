@@ -0,0 +1,14 @@
+package com.axseniors.salesorders.dto;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Value
+public class PeriodRevenue {
+    LocalDate period;
+    long orders;
+    BigDecimal revenue;
+    BigDecimal discountTotal;
+}
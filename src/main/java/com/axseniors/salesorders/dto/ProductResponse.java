@@ -0,0 +1,22 @@
+package com.axseniors.salesorders.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Immutable copy of a product, as returned by the API and kept in the master data caches.
+ */
+@Value
+@Builder
+public class ProductResponse {
+    UUID id;
+    Long version;
+    Instant updatedAt;
+    String code;
+    String name;
+    BigDecimal basePrice;
+}
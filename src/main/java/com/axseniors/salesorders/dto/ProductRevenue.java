@@ -0,0 +1,16 @@
+package com.axseniors.salesorders.dto;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Value
+public class ProductRevenue {
+    UUID productId;
+    String productCode;
+    String productName;
+    long quantity;
+    BigDecimal revenue;
+    BigDecimal discountTotal;
+}
@@ -0,0 +1,14 @@
+package com.axseniors.salesorders.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class SalesRollupReport {
+    long rowsChecked;
+    long rowsMismatched;
+    List<String> sampleMismatchedKeys;
+}
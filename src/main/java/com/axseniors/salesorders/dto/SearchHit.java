@@ -0,0 +1,20 @@
+package com.axseniors.salesorders.dto;
+
+import com.axseniors.salesorders.domain.SearchResultType;
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * A search match: {@code label} is the order number, customer name or product code, {@code detail} the
+ * customer name of an order, the tax ID of a customer or the name of a product. {@code score} is the trigram
+ * similarity to the search term, from 0 to 1.
+ */
+@Value
+public class SearchHit {
+    SearchResultType type;
+    UUID id;
+    String label;
+    String detail;
+    double score;
+}
@@ -0,0 +1,256 @@
+package com.axseniors.salesorders.idempotency;
+
+import com.axseniors.salesorders.repo.IdempotencyKeyRepo.Entry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@code Idempotency-Key} support for the order and customer write endpoints. The first request with a key
+ * runs normally and, if it succeeds (2xx), its response is stored; a retry with the same key and the same
+ * request gets that response back, marked {@code Idempotent-Replayed: true}, without reaching the
+ * controller. Failed requests are not stored, so they can be retried. A key reused for a different request is
+ * rejected with 422.
+ *
+ * <p>Requests with the same key that arrive while the first one runs wait for it on this instance; on another
+ * instance they get 409 until it finishes. The bulk import ({@code POST /api/orders/bulk}) is not covered: its
+ * body is streamed rather than buffered here, and its response already reports each item.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "Idempotency-Key";
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    // The bulk import streams its body, which may be far larger than max-body-bytes, and reports per item.
+    private static final String BULK_IMPORT_PATH = "/api/orders/bulk";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore idempotencyStore;
+    private final int maxBodyBytes;
+    private final ConcurrentMap<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyFilter(IdempotencyStore idempotencyStore,
+                             @Value("${sales-orders.idempotency.max-body-bytes:10485760}") int maxBodyBytes) {
+        this.idempotencyStore = idempotencyStore;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return request.getHeader(HEADER) == null
+                || !("POST".equals(request.getMethod()) || "PUT".equals(request.getMethod()) || "DELETE".equals(request.getMethod()))
+                || !(path.startsWith("/api/orders") || path.startsWith("/api/customers"))
+                || BULK_IMPORT_PATH.equals(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER).strip();
+        if (!StringUtils.hasText(key) || key.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), HEADER + " must have 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        if (request.getContentLengthLong() > maxBodyBytes) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Request body too large for an " + HEADER);
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+        if (body.length > maxBodyBytes) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), "Request body too large for an " + HEADER);
+            return;
+        }
+        String requestHash = fingerprint(request, body);
+
+        while (true) {
+            Optional<Entry> stored = idempotencyStore.find(key);
+            if (stored.isPresent()) {
+                respondWithStored(stored.get(), requestHash, response);
+                return;
+            }
+            CompletableFuture<Void> mine = new CompletableFuture<>();
+            CompletableFuture<Void> running = inFlight.putIfAbsent(key, mine);
+            if (running != null) {
+                // Same key already running here: wait for it, then look again (replay, or run if it failed).
+                awaitQuietly(running);
+                continue;
+            }
+            try {
+                String ownerToken = idempotencyStore.reserve(key, requestHash);
+                if (ownerToken == null) {
+                    continue;
+                }
+                execute(key, ownerToken, requestHash, new CachedBodyRequest(request, body), response, chain);
+                return;
+            } finally {
+                inFlight.remove(key, mine);
+                mine.complete(null);
+            }
+        }
+    }
+
+    private void execute(String key, String ownerToken, String requestHash, HttpServletRequest request,
+                         HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        ContentCachingResponseWrapper captured = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(request, captured);
+            int status = captured.getStatus();
+            if (status >= 200 && status < 300) {
+                idempotencyStore.complete(key, ownerToken, requestHash, status, captured.getContentType(),
+                        new String(captured.getContentAsByteArray(), StandardCharsets.UTF_8));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                idempotencyStore.release(key, ownerToken);
+            }
+            captured.copyBodyToResponse();
+        }
+    }
+
+    private void respondWithStored(Entry entry, String requestHash, HttpServletResponse response) throws IOException {
+        if (!entry.requestHash().equals(requestHash)) {
+            response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(), HEADER + " was already used for a different request");
+            return;
+        }
+        if (!entry.isCompleted()) {
+            response.sendError(HttpStatus.CONFLICT.value(), "A request with this " + HEADER + " is still in progress");
+            return;
+        }
+        response.setStatus(entry.statusCode());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (entry.contentType() != null) {
+            response.setContentType(entry.contentType());
+        }
+        if (entry.body() != null) {
+            byte[] bytes = entry.body().getBytes(StandardCharsets.UTF_8);
+            response.setContentLength(bytes.length);
+            response.getOutputStream().write(bytes);
+        }
+    }
+
+    private void awaitQuietly(CompletableFuture<Void> running) {
+        try {
+            running.get(idempotencyStore.inFlightTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a request with the same " + HEADER, ex);
+        } catch (ExecutionException | TimeoutException ex) {
+            // Looked up again by the caller; a request still running shows up as in progress.
+        }
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + " " + request.getRequestURI() + "\n").getBytes(StandardCharsets.UTF_8));
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            InputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    try {
+                        return in.available() == 0;
+                    } catch (IOException ex) {
+                        return true;
+                    }
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The whole body is already in memory, so it is available at once: the listener is told so right
+                 * away, and that everything was read once it has consumed the buffer.
+                 */
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException | RuntimeException ex) {
+                        listener.onError(ex);
+                    }
+                }
+
+                @Override
+                public int read() throws IOException {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    return in.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.axseniors.salesorders.idempotency;
+
+import com.axseniors.salesorders.repo.IdempotencyKeyRepo;
+import com.axseniors.salesorders.repo.IdempotencyKeyRepo.Entry;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Completed responses by Idempotency-Key: {@code idempotency_keys} is the shared record, kept for
+ * {@code sales-orders.idempotency.ttl}, and a bounded in-memory cache in front of it answers repeated
+ * retries on the same instance without a query. Keys in progress are never cached; their reservations expire
+ * after {@code sales-orders.idempotency.in-flight-timeout} unless the instance running them keeps extending them.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    private final IdempotencyKeyRepo idempotencyKeyRepo;
+    private final Duration ttl;
+    private final Duration inFlightTimeout;
+    private final Cache<String, Entry> completed;
+    private final ConcurrentMap<String, String> reservations = new ConcurrentHashMap<>();
+
+    public IdempotencyStore(IdempotencyKeyRepo idempotencyKeyRepo,
+                            @Value("${sales-orders.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${sales-orders.idempotency.in-flight-timeout:30s}") Duration inFlightTimeout,
+                            @Value("${sales-orders.idempotency.cache-size:10000}") long cacheSize) {
+        this.idempotencyKeyRepo = idempotencyKeyRepo;
+        this.ttl = ttl;
+        this.inFlightTimeout = inFlightTimeout;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public Duration inFlightTimeout() {
+        return inFlightTimeout;
+    }
+
+    /**
+     * The stored entry for {@code key}, completed or in progress. An expired entry is dropped, including one left
+     * in progress past its timeout because the instance handling it died, so the request can run again.
+     */
+    public Optional<Entry> find(String key) {
+        Entry cached = completed.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Instant now = Instant.now();
+        Optional<Entry> stored = idempotencyKeyRepo.find(key);
+        if (stored.isPresent() && stored.get().expiresAt().isBefore(now)) {
+            idempotencyKeyRepo.deleteIfExpired(key, now);
+            return Optional.empty();
+        }
+        stored.filter(Entry::isCompleted).ifPresent(entry -> completed.put(key, entry));
+        return stored;
+    }
+
+    /**
+     * Reserves {@code key} for a request about to run and returns the owner token to complete or release it
+     * with, or {@code null} when the key is already taken. Until then the reservation is kept alive by
+     * {@link #extendReservations}, however long the request takes.
+     */
+    public String reserve(String key, String requestHash) {
+        Instant now = Instant.now();
+        String ownerToken = UUID.randomUUID().toString();
+        if (!idempotencyKeyRepo.reserve(key, requestHash, ownerToken, now, now.plus(inFlightTimeout))) {
+            return null;
+        }
+        reservations.put(key, ownerToken);
+        return ownerToken;
+    }
+
+    /**
+     * Stores the response for a reservation. If the reservation was lost in the meantime (another request
+     * took the key after it expired), nothing is stored and the key stays with that request.
+     */
+    public void complete(String key, String ownerToken, String requestHash, int statusCode, String contentType, String body) {
+        reservations.remove(key, ownerToken);
+        Instant expiresAt = Instant.now().plus(ttl);
+        if (idempotencyKeyRepo.complete(key, ownerToken, statusCode, contentType, body, expiresAt)) {
+            completed.put(key, new Entry(requestHash, statusCode, contentType, body, expiresAt));
+        } else {
+            log.warn("Idempotency key {} was no longer reserved by this request; its response was not stored", key);
+        }
+    }
+
+    public void release(String key, String ownerToken) {
+        reservations.remove(key, ownerToken);
+        idempotencyKeyRepo.release(key, ownerToken);
+    }
+
+    /**
+     * Heartbeat for the requests running on this instance: pushes their reservations another in-flight timeout
+     * ahead, so only the reservations of an instance that died expire.
+     */
+    @Scheduled(fixedDelayString = "${sales-orders.idempotency.heartbeat-interval-ms:10000}")
+    public void extendReservations() {
+        if (!reservations.isEmpty()) {
+            idempotencyKeyRepo.extend(Map.copyOf(reservations), Instant.now().plus(inFlightTimeout));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${sales-orders.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int deleted = idempotencyKeyRepo.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+}
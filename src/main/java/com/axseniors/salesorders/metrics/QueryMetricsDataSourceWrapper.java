@@ -0,0 +1,56 @@
+package com.axseniors.salesorders.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Wraps the application data source so every JDBC execution (a batch counts once) is timed and added to the
+ * {@link RequestQueryStats} of the request being served. Replaces the old {@code spring.jpa.show-sql} dump.
+ */
+@Component
+public class QueryMetricsDataSourceWrapper implements BeanPostProcessor {
+
+    private final long slowThresholdMillis;
+
+    public QueryMetricsDataSourceWrapper(@Value("${sales-orders.query-metrics.slow-threshold-ms:200}") long slowThresholdMillis) {
+        this.slowThresholdMillis = slowThresholdMillis;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(new RecordingListener())
+                    .build();
+        }
+        return bean;
+    }
+
+    private class RecordingListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            RequestQueryStats stats = RequestQueryStats.current();
+            if (stats == null) {
+                return;
+            }
+            String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+            stats.record(execInfo.getElapsedTime(), sql, slowThresholdMillis);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.axseniors.salesorders.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the statements each API request executed: {@code sales_orders.request.queries} (statement count),
+ * {@code sales_orders.request.query.time} (JDBC time) and {@code sales_orders.request.slow.queries}, tagged by
+ * HTTP method and URI pattern, and adds the same figures to the request's trace span. Requests that exceed
+ * {@code sales-orders.query-metrics.budget} statements are logged as warnings.
+ * <p>
+ * Runs just inside the observation filter and ahead of the application's own filters, so the statements of
+ * {@code IdempotencyFilter} and any other filter count towards the request. Requests no handler matched are
+ * tagged {@code uri=UNKNOWN}, as in Spring's own HTTP server metrics.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class QueryMetricsFilter extends OncePerRequestFilter {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+
+    public QueryMetricsFilter(MeterRegistry meterRegistry,
+                              @Value("${sales-orders.query-metrics.budget:0}") int statementBudget) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().substring(request.getContextPath().length()).startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestQueryStats.clear();
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestQueryStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+        DistributionSummary.builder("sales_orders.request.queries")
+                .description("JDBC statements executed per request")
+                .tags(tags)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("sales_orders.request.query.time")
+                .description("Time spent in JDBC per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getTotalMillis(), TimeUnit.MILLISECONDS);
+        meterRegistry.counter("sales_orders.request.slow.queries", tags).increment(stats.getSlowStatements().size());
+
+        ServerHttpObservationFilter.findObservationContext(request).ifPresent(context -> context
+                .addHighCardinalityKeyValue(KeyValue.of("db.statements", String.valueOf(stats.getStatements())))
+                .addHighCardinalityKeyValue(KeyValue.of("db.time.ms", String.valueOf(stats.getTotalMillis())))
+                .addHighCardinalityKeyValue(KeyValue.of("db.slow.statements", String.valueOf(stats.getSlowStatements().size()))));
+
+        stats.getSlowStatements().forEach(sql -> log.warn("Slow statement in {} {}: {}", request.getMethod(), uri, sql));
+        if (statementBudget > 0 && stats.getStatements() > statementBudget) {
+            log.warn("{} {} executed {} statements ({} ms), over the budget of {}",
+                    request.getMethod(), uri, stats.getStatements(), stats.getTotalMillis(), statementBudget);
+        }
+    }
+}
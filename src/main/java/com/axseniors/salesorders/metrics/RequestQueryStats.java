@@ -0,0 +1,52 @@
+package com.axseniors.salesorders.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC statements executed while serving the current HTTP request. The data source proxy records into the
+ * instance bound to the calling thread; statements run outside a request (startup jobs, streamed exports
+ * running on an async thread) find no instance and are not recorded.
+ */
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long totalMillis;
+    private final List<String> slowStatements = new ArrayList<>();
+
+    static RequestQueryStats start() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    void record(long elapsedMillis, String sql, long slowThresholdMillis) {
+        statements++;
+        totalMillis += elapsedMillis;
+        if (elapsedMillis >= slowThresholdMillis) {
+            slowStatements.add(elapsedMillis + " ms: " + sql);
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    public List<String> getSlowStatements() {
+        return slowStatements;
+    }
+}
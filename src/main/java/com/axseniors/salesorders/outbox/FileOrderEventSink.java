@@ -0,0 +1,38 @@
+package com.axseniors.salesorders.outbox;
+
+import com.axseniors.salesorders.dto.OrderEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends events to a local NDJSON file, one line per event. Meant for development and tests.
+ */
+@RequiredArgsConstructor
+public class FileOrderEventSink implements OrderEventSink {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public synchronized void publish(List<OrderEvent> events) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (OrderEvent event : events) {
+                writer.write(objectMapper.writeValueAsString(event));
+                writer.write('\n');
+            }
+        }
+    }
+}
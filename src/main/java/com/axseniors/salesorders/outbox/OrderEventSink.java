@@ -0,0 +1,15 @@
+package com.axseniors.salesorders.outbox;
+
+import com.axseniors.salesorders.dto.OrderEvent;
+
+import java.util.List;
+
+/**
+ * Destination for order events drained from the outbox. A batch is either accepted as a whole or the call
+ * throws, in which case every event in it is retried later; implementations may therefore see an event more
+ * than once.
+ */
+public interface OrderEventSink {
+
+    void publish(List<OrderEvent> events) throws Exception;
+}
@@ -0,0 +1,49 @@
+package com.axseniors.salesorders.outbox;
+
+import com.axseniors.salesorders.domain.OrderEventType;
+import com.axseniors.salesorders.dto.OrderResponse;
+import com.axseniors.salesorders.repo.OrderOutboxRepo;
+import com.axseniors.salesorders.repo.OrderOutboxRepo.NewEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Records order changes in {@code order_outbox} within the caller's transaction, so an event exists exactly
+ * when the change it describes is committed. {@link OrderOutboxRelay} delivers them afterwards.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderOutbox {
+
+    private final OrderOutboxRepo orderOutboxRepo;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(OrderEventType type, OrderResponse order) {
+        recordAll(type, List.of(order));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(OrderEventType type, List<OrderResponse> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        orderOutboxRepo.insert(orders.stream()
+                .map(order -> new NewEvent(order.getId(), type, toJson(order)))
+                .toList());
+    }
+
+    private String toJson(OrderResponse order) {
+        try {
+            return objectMapper.writeValueAsString(order);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize order " + order.getId(), ex);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.axseniors.salesorders.outbox;
+
+import com.axseniors.salesorders.dto.OrderEvent;
+import com.axseniors.salesorders.repo.OrderOutboxRepo;
+import com.axseniors.salesorders.repo.OrderOutboxRepo.PendingEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Drains {@code order_outbox} into the configured {@link OrderEventSink}. A batch is claimed for
+ * {@code claim-lease} in a short transaction, published with no transaction or connection held, and then marked;
+ * an event is only marked after the sink accepted it, so a crash in between means it is sent again once the
+ * lease runs out (at least once). Events of the same order go out in commit order: a later event is not picked
+ * while an earlier one is pending, including while that one is claimed or waits out its retry backoff.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "sales-orders.outbox.relay-enabled", havingValue = "true", matchIfMissing = true)
+public class OrderOutboxRelay {
+
+    private final OrderOutboxRepo orderOutboxRepo;
+    private final OrderEventSink orderEventSink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration retention;
+    private final Duration claimLease;
+
+    public OrderOutboxRelay(OrderOutboxRepo orderOutboxRepo,
+                            ObjectProvider<OrderEventSink> orderEventSink,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${sales-orders.outbox.batch-size:100}") int batchSize,
+                            @Value("${sales-orders.outbox.initial-backoff:1s}") Duration initialBackoff,
+                            @Value("${sales-orders.outbox.max-backoff:5m}") Duration maxBackoff,
+                            @Value("${sales-orders.outbox.retention:7d}") Duration retention,
+                            @Value("${sales-orders.outbox.claim-lease:1m}") Duration claimLease) {
+        this.orderOutboxRepo = orderOutboxRepo;
+        this.orderEventSink = orderEventSink.getIfAvailable(() -> {
+            throw new IllegalStateException(
+                    "The outbox relay is enabled but no sink is configured: set sales-orders.outbox.sink to file or webhook");
+        });
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.retention = retention;
+        this.claimLease = claimLease;
+    }
+
+    @Scheduled(initialDelayString = "${sales-orders.outbox.poll-interval-ms:1000}",
+            fixedDelayString = "${sales-orders.outbox.poll-interval-ms:1000}")
+    public void relay() {
+        // Only the head event of each order is due per batch, so a short batch does not mean the outbox is empty.
+        while (publishBatch() > 0) {
+            // keep publishing until nothing is due or the sink fails
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${sales-orders.outbox.purge-interval-ms:3600000}")
+    public void purgePublished() {
+        int deleted = orderOutboxRepo.deletePublishedBefore(Instant.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Purged {} published outbox events", deleted);
+        }
+    }
+
+    /**
+     * Publishes one batch of due events and returns how many were delivered.
+     */
+    public int publishBatch() {
+        Instant claimedAt = Instant.now();
+        List<PendingEvent> pending = transactionTemplate.execute(
+                status -> orderOutboxRepo.claimDueEvents(claimedAt, claimedAt.plus(claimLease), batchSize));
+        if (pending == null || pending.isEmpty()) {
+            return 0;
+        }
+        List<OrderEvent> events = pending.stream().map(PendingEvent::event).toList();
+        try {
+            orderEventSink.publish(events);
+        } catch (Exception ex) {
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.warn("Publishing {} order events failed, retrying later: {}", events.size(), ex.toString());
+            Instant failedAt = Instant.now();
+            transactionTemplate.executeWithoutResult(status -> {
+                for (PendingEvent event : pending) {
+                    orderOutboxRepo.markFailed(event.event().getId(), failedAt.plus(backoff(event.attempts() + 1)), ex.toString());
+                }
+            });
+            return 0;
+        }
+        Instant publishedAt = Instant.now();
+        transactionTemplate.executeWithoutResult(status ->
+                orderOutboxRepo.markPublished(events.stream().map(OrderEvent::getId).toList(), publishedAt));
+        return events.size();
+    }
+
+    private Duration backoff(int attempt) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempt - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+}
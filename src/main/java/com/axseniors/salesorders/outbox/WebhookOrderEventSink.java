@@ -0,0 +1,43 @@
+package com.axseniors.salesorders.outbox;
+
+import com.axseniors.salesorders.dto.OrderEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * POSTs each batch as a JSON array to a consumer endpoint. Any response other than 2xx fails the batch.
+ */
+public class WebhookOrderEventSink implements OrderEventSink {
+
+    private final URI endpoint;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+
+    public WebhookOrderEventSink(URI endpoint, Duration timeout, ObjectMapper objectMapper) {
+        this.endpoint = endpoint;
+        this.timeout = timeout;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public void publish(List<OrderEvent> events) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(events)))
+                .build();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Webhook " + endpoint + " answered " + response.statusCode());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.axseniors.salesorders.replica;
+
+/**
+ * Per-thread flag that keeps read-only transactions on the primary, set by {@link ReadYourWritesFilter} while
+ * a client may still be reading data it has just written.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static boolean isPrimaryRequired() {
+        return Boolean.TRUE.equals(PRIMARY_REQUIRED.get());
+    }
+
+    public static void requirePrimary(boolean required) {
+        if (required) {
+            PRIMARY_REQUIRED.set(Boolean.TRUE);
+        } else {
+            PRIMARY_REQUIRED.remove();
+        }
+    }
+
+    public static void clear() {
+        PRIMARY_REQUIRED.remove();
+    }
+
+    /**
+     * Wraps {@code task} to run with the flag of the calling thread, for work handed to another thread such as
+     * the executor behind async requests. The flag the running thread had before is restored afterwards.
+     */
+    public static Runnable propagate(Runnable task) {
+        boolean required = isPrimaryRequired();
+        return () -> {
+            boolean previous = isPrimaryRequired();
+            requirePrimary(required);
+            try {
+                task.run();
+            } finally {
+                requirePrimary(previous);
+            }
+        };
+    }
+}
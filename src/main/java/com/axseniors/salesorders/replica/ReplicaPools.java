@@ -0,0 +1,119 @@
+package com.axseniors.salesorders.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The primary pool and the replica pools, with the health of each replica. A replica is used only while its
+ * last check succeeded and reported a replication lag within {@code maxLag}; a replica that fails to hand out
+ * a connection is taken out at once and comes back on the next successful check.
+ */
+@Slf4j
+public class ReplicaPools implements DisposableBean {
+
+    public static final String PRIMARY = "primary";
+
+    private final HikariDataSource primary;
+    private final Map<String, HikariDataSource> replicas;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final Set<String> healthy = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger next = new AtomicInteger();
+
+    private volatile List<String> healthyKeys = List.of();
+
+    public ReplicaPools(HikariDataSource primary, List<HikariDataSource> replicas, Duration maxLag, String lagQuery) {
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>();
+        for (HikariDataSource replica : replicas) {
+            this.replicas.put(replica.getPoolName(), replica);
+        }
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+        checkReplicas();
+    }
+
+    public DataSource primary() {
+        return primary;
+    }
+
+    public Map<Object, Object> targets() {
+        Map<Object, Object> targets = new LinkedHashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        return targets;
+    }
+
+    /**
+     * Round robin over the healthy replicas; empty when none is healthy.
+     */
+    public Optional<String> nextHealthyReplica() {
+        List<String> keys = healthyKeys;
+        if (keys.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(keys.get(Math.floorMod(next.getAndIncrement(), keys.size())));
+    }
+
+    public void markUnhealthy(String key, Exception cause) {
+        if (healthy.remove(key)) {
+            log.warn("Replica {} taken out of rotation: {}", key, cause.getMessage());
+            publishHealthy();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${sales-orders.replicas.check-interval-ms:5000}",
+            fixedDelayString = "${sales-orders.replicas.check-interval-ms:5000}")
+    public void checkReplicas() {
+        replicas.forEach((key, replica) -> {
+            try {
+                double lagSeconds = lagSeconds(replica);
+                if (lagSeconds * 1000 <= maxLag.toMillis()) {
+                    if (healthy.add(key)) {
+                        log.info("Replica {} in rotation", key);
+                    }
+                } else {
+                    markUnhealthy(key, new IllegalStateException("replication lag " + lagSeconds + "s over " + maxLag));
+                }
+            } catch (SQLException | RuntimeException ex) {
+                markUnhealthy(key, ex);
+            }
+        });
+        publishHealthy();
+    }
+
+    @Override
+    public void destroy() {
+        replicas.values().forEach(HikariDataSource::close);
+        primary.close();
+    }
+
+    private double lagSeconds(DataSource replica) throws SQLException {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout((int) Math.max(1, maxLag.toSeconds()));
+            try (ResultSet rs = statement.executeQuery(lagQuery)) {
+                return rs.next() ? rs.getDouble(1) : 0;
+            }
+        }
+    }
+
+    private void publishHealthy() {
+        healthyKeys = replicas.keySet().stream().filter(healthy::contains).toList();
+    }
+}
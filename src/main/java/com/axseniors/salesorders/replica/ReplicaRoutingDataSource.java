@@ -0,0 +1,53 @@
+package com.axseniors.salesorders.replica;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Sends connections of read-only transactions ({@code @Transactional(readOnly = true)}) to a healthy replica
+ * and everything else to the primary. Must sit behind a {@code LazyConnectionDataSourceProxy}: the
+ * transaction is only marked read-only after it began, so the physical connection has to be fetched on the
+ * first statement rather than when the transaction starts.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaPools pools;
+
+    public ReplicaRoutingDataSource(ReplicaPools pools) {
+        this.pools = pools;
+        setTargetDataSources(pools.targets());
+        setDefaultTargetDataSource(pools.primary());
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || ReadYourWrites.isPrimaryRequired()) {
+            return ReplicaPools.PRIMARY;
+        }
+        return pools.nextHealthyReplica().orElse(ReplicaPools.PRIMARY);
+    }
+
+    /**
+     * Falls back to the primary when the chosen replica cannot hand out a connection.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        DataSource target = getResolvedDataSources().get(key);
+        if (ReplicaPools.PRIMARY.equals(key)) {
+            return target.getConnection();
+        }
+        try {
+            return target.getConnection();
+        } catch (SQLException ex) {
+            pools.markUnhealthy((String) key, ex);
+            return pools.primary().getConnection();
+        }
+    }
+}
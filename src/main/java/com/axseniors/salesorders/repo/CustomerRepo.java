@@ -1,9 +1,18 @@
 package com.axseniors.salesorders.repo;
 
 import com.axseniors.salesorders.domain.Customer;
+import com.axseniors.salesorders.dto.CollectionVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.UUID;
 
 public interface CustomerRepo extends JpaRepository<Customer, UUID> {
+
+    @Query("""
+            select new com.axseniors.salesorders.dto.CollectionVersion(
+                count(c), coalesce(sum(c.version), 0L), max(c.updatedAt))
+            from Customer c
+            """)
+    CollectionVersion findCollectionVersion();
 }
@@ -0,0 +1,206 @@
+package com.axseniors.salesorders.repo;
+
+import com.axseniors.salesorders.config.DatabaseVendor;
+import com.axseniors.salesorders.dto.RollupRevenue;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC access to {@code daily_sales_rollup}: confirmed sales per (day, customer, product). Deltas are applied
+ * with a single upsert per key, {@code insert ... on conflict} on PostgreSQL and a standard {@code merge}
+ * elsewhere, so concurrent writers to the same key serialize on the row instead of racing on a read. Both the
+ * per-order and the set-based paths write keys in {@link #KEY_ORDER}, the database's own order, so concurrent
+ * transactions lock overlapping rollup rows in the same sequence and cannot deadlock on them.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DailySalesRollupRepo {
+
+    /**
+     * (sales_date, customer_id, product_id) as the database sorts them. PostgreSQL and H2 compare uuids as
+     * unsigned bytes, whereas {@link UUID#compareTo} compares signed longs and disagrees for ids with the high bit
+     * set.
+     */
+    public static final Comparator<Delta> KEY_ORDER = Comparator.comparing(Delta::salesDate)
+            .thenComparing(Delta::customerId, DailySalesRollupRepo::compareUnsigned)
+            .thenComparing(Delta::productId, DailySalesRollupRepo::compareUnsigned);
+
+    private static final String INSERT_COLUMNS = """
+            insert into daily_sales_rollup (sales_date, customer_id, product_id, quantity, revenue, discount_total, line_count)
+            """;
+
+    private static final String ON_CONFLICT_ADD = """
+            on conflict (sales_date, customer_id, product_id) do update set
+                quantity = daily_sales_rollup.quantity + excluded.quantity,
+                revenue = daily_sales_rollup.revenue + excluded.revenue,
+                discount_total = daily_sales_rollup.discount_total + excluded.discount_total,
+                line_count = daily_sales_rollup.line_count + excluded.line_count
+            """;
+
+    private static final String MERGE_ADD = """
+            on r.sales_date = d.sales_date and r.customer_id = d.customer_id and r.product_id = d.product_id
+            when matched then update set
+                quantity = r.quantity + d.quantity,
+                revenue = r.revenue + d.revenue,
+                discount_total = r.discount_total + d.discount_total,
+                line_count = r.line_count + d.line_count
+            when not matched then insert (sales_date, customer_id, product_id, quantity, revenue, discount_total, line_count)
+                values (d.sales_date, d.customer_id, d.product_id, d.quantity, d.revenue, d.discount_total, d.line_count)
+            """;
+
+    private static final String POSTGRES_UPSERT = INSERT_COLUMNS + """
+            values (?, ?, ?, ?, ?, ?, ?)
+            """ + ON_CONFLICT_ADD;
+
+    private static final String MERGE_UPSERT = """
+            merge into daily_sales_rollup r
+            using (values (cast(? as date), cast(? as uuid), cast(? as uuid), cast(? as bigint),
+                           cast(? as numeric(19, 2)), cast(? as numeric(19, 2)), cast(? as bigint)))
+                as d (sales_date, customer_id, product_id, quantity, revenue, discount_total, line_count)
+            """ + MERGE_ADD;
+
+    /**
+     * A line's stored total, or for lines written before totals were persisted (and not yet backfilled) the same
+     * value derived as in {@code OrderPricing}: the discount factor rounded HALF_UP to four decimals, the total to two.
+     */
+    private static final String LINE_TOTAL =
+            "coalesce(line_total, round(unit_price * quantity * (1 - round(discount_pct / 100, 4)), 2))";
+
+    /**
+     * Deltas of a set of orders computed from their lines, multiplied by {@code :sign}. Keys come out sorted by
+     * the database, in {@link #KEY_ORDER}, so the upsert locks rollup rows in the same order as {@link #applyDeltas}.
+     */
+    private static final String ORDER_DELTAS = """
+            select o.order_date as sales_date, o.customer_id, l.product_id,
+                   cast(:sign as integer) * sum(l.quantity) as quantity,
+                   cast(:sign as integer) * coalesce(sum(l.line_total), 0) as revenue,
+                   cast(:sign as integer) * coalesce(sum(l.unit_price * l.quantity - l.line_total), 0) as discount_total,
+                   cast(:sign as integer) * count(*) as line_count
+            from sales_orders o
+            join (select order_id, product_id, quantity, unit_price, %s as line_total
+                  from sales_order_lines) l on l.order_id = o.id
+            where o.id in (:orderIds)
+            group by o.order_date, o.customer_id, l.product_id
+            order by o.order_date, o.customer_id, l.product_id
+            """.formatted(LINE_TOTAL);
+
+    // Archived confirmed orders still count: they are recomputed together with the active ones.
+    private static final String RECOMPUTE = """
+            select o.order_date as sales_date, o.customer_id, l.product_id,
+                   sum(l.quantity) as quantity,
+                   coalesce(sum(l.line_total), 0) as revenue,
+                   coalesce(sum(l.unit_price * l.quantity - l.line_total), 0) as discount_total,
+                   count(*) as line_count
+            from (select id, order_date, customer_id, status from sales_orders
+                  union all
+                  select id, order_date, customer_id, status from sales_orders_archive) o
+            join (select order_id, product_id, quantity, unit_price, %1$s as line_total from sales_order_lines
+                  union all
+                  select order_id, product_id, quantity, unit_price, %1$s as line_total from sales_order_lines_archive) l
+                on l.order_id = o.id
+            where o.status = 'CONFIRMED'
+            group by o.order_date, o.customer_id, l.product_id
+            """.formatted(LINE_TOTAL);
+
+    private static final String STORED = """
+            select sales_date, customer_id, product_id, quantity, revenue, discount_total, line_count
+            from daily_sales_rollup
+            where line_count <> 0
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseVendor databaseVendor;
+
+    /**
+     * Upserts the deltas in {@link #KEY_ORDER}, whatever order they are given in.
+     */
+    public void applyDeltas(Collection<Delta> deltas) {
+        List<Object[]> rows = deltas.stream()
+                .sorted(KEY_ORDER)
+                .map(delta -> new Object[]{
+                        Date.valueOf(delta.salesDate()), delta.customerId(), delta.productId(),
+                        delta.quantity(), delta.revenue(), delta.discountTotal(), delta.lineCount()})
+                .toList();
+        jdbcTemplate.batchUpdate(databaseVendor.isPostgres() ? POSTGRES_UPSERT : MERGE_UPSERT, rows);
+    }
+
+    /**
+     * Adds ({@code sign = 1}) or subtracts ({@code sign = -1}) the lines of the given orders in one statement,
+     * without reading them into the application.
+     */
+    public int applyOrders(Collection<UUID> orderIds, int sign) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("orderIds", orderIds)
+                .addValue("sign", sign);
+        String sql = databaseVendor.isPostgres()
+                ? INSERT_COLUMNS + ORDER_DELTAS + ON_CONFLICT_ADD
+                : "merge into daily_sales_rollup r using (" + ORDER_DELTAS + ") d " + MERGE_ADD;
+        return new NamedParameterJdbcTemplate(jdbcTemplate).update(sql, params);
+    }
+
+    public int rebuild() {
+        jdbcTemplate.update("delete from daily_sales_rollup");
+        return jdbcTemplate.update(INSERT_COLUMNS + RECOMPUTE);
+    }
+
+    public long countRows() {
+        Long rows = jdbcTemplate.queryForObject("select count(*) from (" + STORED + ") stored", Long.class);
+        return rows == null ? 0 : rows;
+    }
+
+    /**
+     * Rows that differ between the stored rollup and a full recompute, in either direction (missing, extra or
+     * wrong values).
+     */
+    public long countMismatched() {
+        Long rows = jdbcTemplate.queryForObject("select count(*) from " + differences(), Long.class);
+        return rows == null ? 0 : rows;
+    }
+
+    public List<String> findMismatchedKeys(int limit) {
+        return jdbcTemplate.queryForList("""
+                select distinct sales_date || '/' || customer_id || '/' || product_id as rollup_key
+                from %s
+                order by rollup_key
+                limit ?
+                """.formatted(differences()), String.class, limit);
+    }
+
+    private static String differences() {
+        return "((%1$s except %2$s) union all (%2$s except %1$s)) diff".formatted(STORED, RECOMPUTE);
+    }
+
+    public List<RollupRevenue> sumByDay(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("""
+                        select sales_date, sum(quantity), sum(revenue), sum(discount_total)
+                        from daily_sales_rollup
+                        where sales_date between ? and ?
+                        group by sales_date
+                        having sum(line_count) <> 0
+                        order by sales_date
+                        """,
+                (rs, rowNum) -> new RollupRevenue(
+                        rs.getDate(1).toLocalDate(), rs.getLong(2), rs.getBigDecimal(3), rs.getBigDecimal(4)),
+                Date.valueOf(from), Date.valueOf(to));
+    }
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    public record Delta(LocalDate salesDate, UUID customerId, UUID productId, long quantity,
+                        BigDecimal revenue, BigDecimal discountTotal, long lineCount) {
+    }
+}
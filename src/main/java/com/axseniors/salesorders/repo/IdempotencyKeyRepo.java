@@ -0,0 +1,104 @@
+package com.axseniors.salesorders.repo;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * JDBC access to {@code idempotency_keys}. A key is reserved by inserting a row without a response, which
+ * the primary key makes exclusive across instances, and completed by the same owner once the response is known.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyRepo {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<Entry> find(String key) {
+        return jdbcTemplate.query("""
+                                select request_hash, status_code, content_type, response_body, expires_at
+                                from idempotency_keys
+                                where idempotency_key = ?
+                                """,
+                        (rs, rowNum) -> new Entry(
+                                rs.getString("request_hash"),
+                                rs.getObject("status_code", Integer.class),
+                                rs.getString("content_type"),
+                                rs.getString("response_body"),
+                                rs.getTimestamp("expires_at").toInstant()),
+                        key)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Returns false when the key is already taken, completed or in progress. {@code ownerToken} identifies the
+     * reservation in {@link #complete}, {@link #release} and {@link #extend}.
+     */
+    public boolean reserve(String key, String requestHash, String ownerToken, Instant now, Instant expiresAt) {
+        try {
+            jdbcTemplate.update("""
+                            insert into idempotency_keys (idempotency_key, request_hash, owner_token, created_at, expires_at)
+                            values (?, ?, ?, ?, ?)
+                            """,
+                    key, requestHash, ownerToken, Timestamp.from(now), Timestamp.from(expiresAt));
+            return true;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns false when the reservation is no longer {@code ownerToken}'s, e.g. it expired and the key was
+     * taken by another request.
+     */
+    public boolean complete(String key, String ownerToken, int statusCode, String contentType, String body, Instant expiresAt) {
+        return jdbcTemplate.update("""
+                        update idempotency_keys
+                        set status_code = ?, content_type = ?, response_body = ?, expires_at = ?
+                        where idempotency_key = ? and owner_token = ? and status_code is null
+                        """,
+                statusCode, contentType, body, Timestamp.from(expiresAt), key, ownerToken) > 0;
+    }
+
+    public void release(String key, String ownerToken) {
+        jdbcTemplate.update("delete from idempotency_keys where idempotency_key = ? and owner_token = ? and status_code is null",
+                key, ownerToken);
+    }
+
+    /**
+     * Moves the expiry of reservations still in progress, given as key to owner token, to {@code expiresAt}.
+     */
+    public void extend(Map<String, String> reservations, Instant expiresAt) {
+        List<Object[]> rows = reservations.entrySet().stream()
+                .map(reservation -> new Object[]{Timestamp.from(expiresAt), reservation.getKey(), reservation.getValue()})
+                .toList();
+        jdbcTemplate.batchUpdate("""
+                update idempotency_keys
+                set expires_at = ?
+                where idempotency_key = ? and owner_token = ? and status_code is null
+                """, rows);
+    }
+
+    public void deleteIfExpired(String key, Instant now) {
+        jdbcTemplate.update("delete from idempotency_keys where idempotency_key = ? and expires_at < ?", key, Timestamp.from(now));
+    }
+
+    public int deleteExpired(Instant now) {
+        return jdbcTemplate.update("delete from idempotency_keys where expires_at < ?", Timestamp.from(now));
+    }
+
+    public record Entry(String requestHash, Integer statusCode, String contentType, String body, Instant expiresAt) {
+
+        public boolean isCompleted() {
+            return statusCode != null;
+        }
+    }
+}
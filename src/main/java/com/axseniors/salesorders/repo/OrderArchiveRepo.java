@@ -0,0 +1,202 @@
+package com.axseniors.salesorders.repo;
+
+import com.axseniors.salesorders.config.DatabaseVendor;
+import com.axseniors.salesorders.domain.CancelReason;
+import com.axseniors.salesorders.domain.SalesOrderStatus;
+import com.axseniors.salesorders.dto.OrderLineResponse;
+import com.axseniors.salesorders.dto.OrderResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * JDBC access to {@code sales_orders_archive} and {@code sales_order_lines_archive}. Orders are moved with
+ * set-based {@code insert ... select} and {@code delete} statements by id. On PostgreSQL the archive is range
+ * partitioned by year of {@code order_date}; partitions are created on demand before rows for a new year are
+ * moved in. The tests run on H2, where the archive is a plain table, so the partition path
+ * ({@link #ensurePartitions}, {@code skip locked}) is only exercised against a real PostgreSQL.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderArchiveRepo {
+
+    private static final int EXPORT_FETCH_SIZE = 250;
+
+    private static final String ORDER_COLUMNS = """
+            id, version, order_number, customer_id, order_date, delivery_date, status, cancel_reason, cancel_note,
+            order_total, order_subtotal, order_discount_total""";
+
+    private static final String ARCHIVED_ORDERS = """
+            select o.id, o.order_number, o.status, o.cancel_reason, o.cancel_note, o.customer_id, c.name as customer_name,
+                   o.order_date, o.delivery_date, o.order_total, o.order_subtotal, o.order_discount_total
+            from sales_orders_archive o
+            left join customers c on c.id = o.customer_id
+            """;
+
+    private static final RowMapper<OrderResponse> ORDER_MAPPER = (rs, rowNum) -> OrderResponse.builder()
+            .id(rs.getObject("id", UUID.class))
+            .orderNumber(rs.getString("order_number"))
+            .status(SalesOrderStatus.valueOf(rs.getString("status")))
+            .cancelReason(enumOrNull(rs, "cancel_reason"))
+            .cancelNote(rs.getString("cancel_note"))
+            .customerId(rs.getObject("customer_id", UUID.class))
+            .customerName(rs.getString("customer_name"))
+            .orderDate(rs.getObject("order_date", LocalDate.class))
+            .deliveryDate(rs.getObject("delivery_date", LocalDate.class))
+            .orderTotal(rs.getBigDecimal("order_total"))
+            .orderSubtotal(rs.getBigDecimal("order_subtotal"))
+            .orderDiscountTotal(rs.getBigDecimal("order_discount_total"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseVendor databaseVendor;
+
+    /**
+     * Locks and returns up to {@code limit} orders to archive: cancelled orders dated before
+     * {@code cancelledBefore} and any order dated before {@code olderThan}. On PostgreSQL rows locked by a
+     * request in flight are skipped and picked up by a later run.
+     */
+    public List<ArchivableOrder> lockArchivable(LocalDate cancelledBefore, LocalDate olderThan, int limit) {
+        String lock = databaseVendor.isPostgres() ? " for update skip locked" : " for update";
+        return jdbcTemplate.query("""
+                        select id, order_date
+                        from sales_orders
+                        where (status = 'CANCELLED' and order_date < ?) or order_date < ?
+                        order by order_date, id
+                        limit ?
+                        """ + lock,
+                (rs, rowNum) -> new ArchivableOrder(rs.getObject("id", UUID.class), rs.getObject("order_date", LocalDate.class)),
+                Date.valueOf(cancelledBefore), Date.valueOf(olderThan), limit);
+    }
+
+    /**
+     * Creates the yearly archive partitions for {@code years} that do not exist yet. No-op outside PostgreSQL.
+     */
+    public void ensurePartitions(Collection<Integer> years) {
+        if (!databaseVendor.isPostgres()) {
+            return;
+        }
+        for (int year : years) {
+            for (String table : List.of("sales_orders_archive", "sales_order_lines_archive")) {
+                String partition = table + "_" + year;
+                String existing = jdbcTemplate.queryForObject("select cast(to_regclass(?) as text)", String.class, partition);
+                if (existing == null) {
+                    jdbcTemplate.execute("create table if not exists %s partition of %s for values from ('%d-01-01') to ('%d-01-01')"
+                            .formatted(partition, table, year, year + 1));
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies the orders and their lines into the archive and deletes them from the active tables. Returns the
+     * number of orders moved.
+     */
+    public int moveToArchive(Collection<UUID> orderIds, Instant archivedAt) {
+        NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(jdbcTemplate);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", orderIds)
+                .addValue("archivedAt", Timestamp.from(archivedAt));
+        named.update("""
+                insert into sales_orders_archive (%1$s, archived_at)
+                select %1$s, :archivedAt from sales_orders where id in (:ids)
+                """.formatted(ORDER_COLUMNS), params);
+        named.update("""
+                insert into sales_order_lines_archive (id, order_id, order_date, product_id, quantity, unit_price, discount_pct, line_total)
+                select l.id, l.order_id, o.order_date, l.product_id, l.quantity, l.unit_price, l.discount_pct, l.line_total
+                from sales_order_lines l
+                join sales_orders o on o.id = l.order_id
+                where l.order_id in (:ids)
+                """, params);
+        named.update("delete from sales_order_lines where order_id in (:ids)", params);
+        return named.update("delete from sales_orders where id in (:ids)", params);
+    }
+
+    public Optional<OrderResponse> findOrder(UUID orderId) {
+        return withLines(jdbcTemplate.query(ARCHIVED_ORDERS + " where o.id = ?", ORDER_MAPPER, orderId)).stream().findFirst();
+    }
+
+    /**
+     * Archived orders of a customer in {@code [fromDate, toDate]}, by (orderDate, id). The date bounds let
+     * PostgreSQL read only the partitions of those years.
+     */
+    public List<OrderResponse> findOrders(UUID customerId, LocalDate fromDate, LocalDate toDate, int limit) {
+        return withLines(jdbcTemplate.query(ARCHIVED_ORDERS + """
+                        where o.customer_id = ? and o.order_date between ? and ?
+                        order by o.order_date, o.id
+                        limit ?
+                        """,
+                ORDER_MAPPER, customerId, Date.valueOf(fromDate), Date.valueOf(toDate), limit));
+    }
+
+    /**
+     * Every archived order by (orderDate, id), without lines, read through a forward-only cursor for the export.
+     * Callers add the lines one chunk at a time with {@link #withLines}.
+     */
+    public Stream<OrderResponse> streamOrdersForExport() {
+        return jdbcTemplate.queryForStream(connection -> {
+            PreparedStatement statement = connection.prepareStatement(ARCHIVED_ORDERS + " order by o.order_date, o.id");
+            statement.setFetchSize(EXPORT_FETCH_SIZE);
+            return statement;
+        }, ORDER_MAPPER);
+    }
+
+    /**
+     * Returns the orders with their archived lines, loaded with a single query.
+     */
+    public List<OrderResponse> withLines(List<OrderResponse> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> ids = orders.stream().map(OrderResponse::getId).toList();
+        Map<UUID, List<OrderLineResponse>> lines = new NamedParameterJdbcTemplate(jdbcTemplate).query("""
+                        select l.order_id, l.id, l.product_id, p.code, p.name, l.quantity, l.unit_price, l.discount_pct, l.line_total
+                        from sales_order_lines_archive l
+                        left join products p on p.id = l.product_id
+                        where l.order_id in (:ids)
+                        order by l.order_id, l.id
+                        """,
+                        new MapSqlParameterSource("ids", ids),
+                        (rs, rowNum) -> Map.entry(rs.getObject("order_id", UUID.class), OrderLineResponse.builder()
+                                .lineId(rs.getObject("id", UUID.class))
+                                .productId(rs.getObject("product_id", UUID.class))
+                                .productCode(rs.getString("code"))
+                                .productName(rs.getString("name"))
+                                .quantity(rs.getInt("quantity"))
+                                .unitPrice(rs.getBigDecimal("unit_price"))
+                                .discountPct(rs.getBigDecimal("discount_pct"))
+                                .lineTotal(rs.getBigDecimal("line_total"))
+                                .build()))
+                .stream()
+                .collect(Collectors.groupingBy(Map.Entry::getKey, Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
+        return orders.stream()
+                .map(order -> order.toBuilder().lines(lines.getOrDefault(order.getId(), List.of())).build())
+                .toList();
+    }
+
+    private static CancelReason enumOrNull(ResultSet rs, String column) throws SQLException {
+        String value = rs.getString(column);
+        return value == null ? null : CancelReason.valueOf(value);
+    }
+
+    public record ArchivableOrder(UUID id, LocalDate orderDate) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.axseniors.salesorders.repo;
+
+import com.axseniors.salesorders.config.DatabaseVendor;
+import com.axseniors.salesorders.domain.OrderEventType;
+import com.axseniors.salesorders.dto.OrderEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC access to {@code order_outbox}. Ids come from an identity column: rows for the same order are written
+ * by transactions that serialize on the order row, so their ids follow the order of the changes.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderOutboxRepo {
+
+    // Head of line per order: an event is only due once every earlier event of the same order is published.
+    private static final String DUE_EVENTS = """
+            select e.id, e.event_type, e.aggregate_id, e.created_at, e.payload, e.attempts
+            from order_outbox e
+            where e.published_at is null
+              and e.next_attempt_at <= ?
+              and not exists (
+                  select 1 from order_outbox p
+                  where p.aggregate_id = e.aggregate_id and p.published_at is null and p.id < e.id)
+            order by e.id
+            limit ?
+            """;
+
+    private static final RowMapper<PendingEvent> PENDING_MAPPER = (rs, rowNum) -> new PendingEvent(
+            new OrderEvent(
+                    rs.getLong("id"),
+                    OrderEventType.valueOf(rs.getString("event_type")),
+                    rs.getObject("aggregate_id", UUID.class),
+                    rs.getTimestamp("created_at").toInstant(),
+                    rs.getString("payload")),
+            rs.getInt("attempts"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseVendor databaseVendor;
+
+    public void insert(Collection<NewEvent> events) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate("""
+                        insert into order_outbox (aggregate_id, event_type, payload, created_at, next_attempt_at)
+                        values (?, ?, ?, ?, ?)
+                        """,
+                events.stream()
+                        .map(event -> new Object[]{event.orderId(), event.type().name(), event.payload(), now, now})
+                        .toList());
+    }
+
+    /**
+     * Claims up to {@code limit} due events by pushing their next attempt to {@code leaseUntil}, so no relay picks
+     * them again while they are being published; if the claimer dies they fall due once the lease runs out. Must
+     * run in a transaction. On PostgreSQL rows locked by another relay instance are skipped, so several instances
+     * can drain the outbox side by side.
+     */
+    public List<PendingEvent> claimDueEvents(Instant now, Instant leaseUntil, int limit) {
+        String lock = databaseVendor.isPostgres() ? " for update of e skip locked" : "";
+        List<PendingEvent> events = jdbcTemplate.query(DUE_EVENTS + lock, PENDING_MAPPER, Timestamp.from(now), limit);
+        jdbcTemplate.batchUpdate("update order_outbox set next_attempt_at = ? where id = ?",
+                events.stream().map(event -> new Object[]{Timestamp.from(leaseUntil), event.event().getId()}).toList());
+        return events;
+    }
+
+    public void markPublished(Collection<Long> ids, Instant publishedAt) {
+        jdbcTemplate.batchUpdate("update order_outbox set published_at = ?, last_error = null where id = ?",
+                ids.stream().map(id -> new Object[]{Timestamp.from(publishedAt), id}).toList());
+    }
+
+    public void markFailed(long id, Instant nextAttemptAt, String error) {
+        jdbcTemplate.update("""
+                        update order_outbox
+                        set attempts = attempts + 1, next_attempt_at = ?, last_error = ?
+                        where id = ?
+                        """,
+                Timestamp.from(nextAttemptAt), error, id);
+    }
+
+    public int deletePublishedBefore(Instant cutoff) {
+        return jdbcTemplate.update("delete from order_outbox where published_at < ?", Timestamp.from(cutoff));
+    }
+
+    public record PendingEvent(OrderEvent event, int attempts) {
+    }
+
+    public record NewEvent(UUID orderId, OrderEventType type, String payload) {
+    }
+}
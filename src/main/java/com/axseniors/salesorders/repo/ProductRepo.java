@@ -1,9 +1,18 @@
 package com.axseniors.salesorders.repo;
 
 import com.axseniors.salesorders.domain.Product;
+import com.axseniors.salesorders.dto.CollectionVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.UUID;
 
 public interface ProductRepo extends JpaRepository<Product, UUID> {
+
+    @Query("""
+            select new com.axseniors.salesorders.dto.CollectionVersion(
+                count(p), coalesce(sum(p.version), 0L), max(p.updatedAt))
+            from Product p
+            """)
+    CollectionVersion findCollectionVersion();
 }
@@ -0,0 +1,92 @@
+package com.axseniors.salesorders.repo;
+
+import com.axseniors.salesorders.domain.AnalyticsOrder;
+import com.axseniors.salesorders.domain.SalesOrderStatus;
+import com.axseniors.salesorders.dto.CustomerRevenue;
+import com.axseniors.salesorders.dto.PeriodRevenue;
+import com.axseniors.salesorders.dto.ProductRevenue;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Aggregate queries for the analytics endpoints, over active and archived orders ({@link AnalyticsOrder}).
+ * Order-level figures read the stored order totals; only the per-product breakdown needs the lines.
+ */
+public interface SalesAnalyticsRepo extends Repository<AnalyticsOrder, UUID> {
+
+    @Query("""
+            select new com.axseniors.salesorders.dto.CustomerRevenue(
+                c.id, c.name, count(o), sum(o.orderTotal), sum(o.orderDiscountTotal))
+            from AnalyticsOrder o join o.customer c
+            where o.orderDate between :from and :to and o.status in :statuses
+            group by c.id, c.name
+            order by sum(o.orderTotal) desc
+            """)
+    List<CustomerRevenue> revenueByCustomer(@Param("from") LocalDate from,
+                                            @Param("to") LocalDate to,
+                                            @Param("statuses") Collection<SalesOrderStatus> statuses,
+                                            Pageable pageable);
+
+    @Query("""
+            select new com.axseniors.salesorders.dto.ProductRevenue(
+                p.id, p.code, p.name, sum(l.quantity), sum(l.lineTotal), sum(l.unitPrice * l.quantity - l.lineTotal))
+            from AnalyticsOrderLine l join l.order o join l.product p
+            where o.orderDate between :from and :to and o.status in :statuses
+            group by p.id, p.code, p.name
+            order by sum(l.lineTotal) desc
+            """)
+    List<ProductRevenue> revenueByProduct(@Param("from") LocalDate from,
+                                          @Param("to") LocalDate to,
+                                          @Param("statuses") Collection<SalesOrderStatus> statuses,
+                                          Pageable pageable);
+
+    @Query("""
+            select new com.axseniors.salesorders.dto.PeriodRevenue(
+                o.orderDate, count(o), sum(o.orderTotal), sum(o.orderDiscountTotal))
+            from AnalyticsOrder o
+            where o.orderDate between :from and :to and o.status in :statuses
+            group by o.orderDate
+            order by o.orderDate
+            """)
+    List<PeriodRevenue> revenueByDay(@Param("from") LocalDate from,
+                                     @Param("to") LocalDate to,
+                                     @Param("statuses") Collection<SalesOrderStatus> statuses);
+
+    /**
+     * Rows of {@code [year, month, orders, revenue, discountTotal]}.
+     */
+    @Query("""
+            select year(o.orderDate), month(o.orderDate), count(o), sum(o.orderTotal), sum(o.orderDiscountTotal)
+            from AnalyticsOrder o
+            where o.orderDate between :from and :to and o.status in :statuses
+            group by year(o.orderDate), month(o.orderDate)
+            order by year(o.orderDate), month(o.orderDate)
+            """)
+    List<Object[]> revenueByMonth(@Param("from") LocalDate from,
+                                  @Param("to") LocalDate to,
+                                  @Param("statuses") Collection<SalesOrderStatus> statuses);
+
+    @Query("select count(o) from AnalyticsOrder o where o.orderDate between :from and :to")
+    long countPlaced(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Rows of {@code [cancelReason, orders]}.
+     */
+    @Query("""
+            select o.cancelReason, count(o)
+            from AnalyticsOrder o
+            where o.orderDate between :from and :to and o.status = :cancelled
+            group by o.cancelReason
+            order by count(o) desc
+            """)
+    List<Object[]> countCancelledByReason(@Param("from") LocalDate from,
+                                          @Param("to") LocalDate to,
+                                          @Param("cancelled") SalesOrderStatus cancelled);
+}
@@ -0,0 +1,16 @@
+package com.axseniors.salesorders.repo;
+
+import com.axseniors.salesorders.domain.SalesOrderLine;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface SalesOrderLineRepo extends JpaRepository<SalesOrderLine, UUID> {
+
+    @Query("select l from SalesOrderLine l join fetch l.product where l.order.id in :orderIds")
+    List<SalesOrderLine> findAllWithProductByOrderIdIn(@Param("orderIds") Collection<UUID> orderIds);
+}
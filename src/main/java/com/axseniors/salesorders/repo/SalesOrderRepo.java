@@ -1,16 +1,113 @@
 package com.axseniors.salesorders.repo;
 
+import com.axseniors.salesorders.domain.CancelReason;
 import com.axseniors.salesorders.domain.SalesOrder;
 import com.axseniors.salesorders.domain.SalesOrderStatus;
 
+import java.util.Collection;
 import java.util.List;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface SalesOrderRepo extends JpaRepository<SalesOrder, UUID> {
+public interface SalesOrderRepo extends JpaRepository<SalesOrder, UUID>, SalesOrderRepoCustom {
     Optional<SalesOrder> findByOrderNumber(String orderNumber);
 
-    List<SalesOrder> findAllByStatusNot(SalesOrderStatus status);
+    @Query("""
+            select distinct o from SalesOrder o
+            join fetch o.customer
+            left join fetch o.lines l
+            left join fetch l.product
+            where o.id in :ids
+            order by o.orderDate, o.id
+            """)
+    List<SalesOrder> findAllWithDetailsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("""
+            select o from SalesOrder o
+            join fetch o.customer
+            left join fetch o.lines l
+            left join fetch l.product
+            where o.id = :id
+            """)
+    Optional<SalesOrder> findWithDetailsById(@Param("id") UUID id);
+
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("select o from SalesOrder o where o.id = :id")
+    Optional<SalesOrder> findForUpdateById(@Param("id") UUID id);
+
+    @Query("select o.version from SalesOrder o where o.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    @Query("select o.status from SalesOrder o where o.id = :id")
+    Optional<SalesOrderStatus> findStatusById(@Param("id") UUID id);
+
+    /**
+     * Moves the order to {@code target} only if its current status is one of {@code from}, in a single
+     * statement, so two concurrent transitions cannot both succeed. Returns the number of rows changed.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update SalesOrder o set o.status = :target, o.version = o.version + 1 where o.id = :id and o.status in :from")
+    int transitionStatus(@Param("id") UUID id,
+                         @Param("from") Collection<SalesOrderStatus> from,
+                         @Param("target") SalesOrderStatus target);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update SalesOrder o
+            set o.status = :target, o.cancelReason = :reason, o.cancelNote = :note, o.version = o.version + 1
+            where o.id = :id and o.status in :from
+            """)
+    int transitionToCancelled(@Param("id") UUID id,
+                              @Param("from") Collection<SalesOrderStatus> from,
+                              @Param("target") SalesOrderStatus target,
+                              @Param("reason") CancelReason reason,
+                              @Param("note") String note);
+
+    /**
+     * Locks the order headers (lines are not read) in id order, so concurrent bulk transitions over overlapping
+     * sets always take their locks in the same order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from SalesOrder o where o.id in :ids order by o.id")
+    List<SalesOrder> lockAllByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update SalesOrder o set o.status = :target, o.version = o.version + 1 where o.id in :ids and o.status in :from")
+    int transitionAllStatus(@Param("ids") Collection<UUID> ids,
+                            @Param("from") Collection<SalesOrderStatus> from,
+                            @Param("target") SalesOrderStatus target);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update SalesOrder o
+            set o.status = :target, o.cancelReason = :reason, o.cancelNote = :note, o.version = o.version + 1
+            where o.id in :ids and o.status in :from
+            """)
+    int transitionAllToCancelled(@Param("ids") Collection<UUID> ids,
+                                 @Param("from") Collection<SalesOrderStatus> from,
+                                 @Param("target") SalesOrderStatus target,
+                                 @Param("reason") CancelReason reason,
+                                 @Param("note") String note);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "250"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select o from SalesOrder o join fetch o.customer order by o.orderDate, o.id")
+    Stream<SalesOrder> streamAllForExport();
+
+    @Query("select o.id from SalesOrder o where o.orderTotal is null")
+    List<UUID> findIdsWithoutTotals(Pageable pageable);
 }
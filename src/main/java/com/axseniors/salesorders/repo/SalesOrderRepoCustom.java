@@ -0,0 +1,23 @@
+package com.axseniors.salesorders.repo;
+
+import com.axseniors.salesorders.dto.OrderListFilter;
+import com.axseniors.salesorders.dto.OrderSummaryResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface SalesOrderRepoCustom {
+
+    /**
+     * Keyset page over {@code (orderDate, id)}: returns at most {@code limit} order ids strictly after
+     * the given position, or from the start when {@code afterDate} is null.
+     */
+    List<UUID> findPageIds(OrderListFilter filter, LocalDate afterDate, UUID afterId, int limit);
+
+    /**
+     * Same keyset page as {@link #findPageIds}, projected straight into summaries: only header columns and the
+     * customer name are selected, no entity is hydrated and order lines are never read.
+     */
+    List<OrderSummaryResponse> findSummaries(OrderListFilter filter, LocalDate afterDate, UUID afterId, int limit);
+}
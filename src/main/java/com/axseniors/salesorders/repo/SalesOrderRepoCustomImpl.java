@@ -0,0 +1,94 @@
+package com.axseniors.salesorders.repo;
+
+import com.axseniors.salesorders.domain.Customer;
+import com.axseniors.salesorders.domain.SalesOrder;
+import com.axseniors.salesorders.domain.SalesOrderStatus;
+import com.axseniors.salesorders.dto.OrderListFilter;
+import com.axseniors.salesorders.dto.OrderSummaryResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+class SalesOrderRepoCustomImpl implements SalesOrderRepoCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UUID> findPageIds(OrderListFilter filter, LocalDate afterDate, UUID afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UUID> query = cb.createQuery(UUID.class);
+        Root<SalesOrder> order = query.from(SalesOrder.class);
+
+        query.select(order.<UUID>get("id"))
+                .where(pagePredicates(cb, order, filter, afterDate, afterId))
+                .orderBy(cb.asc(order.get("orderDate")), cb.asc(order.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<OrderSummaryResponse> findSummaries(OrderListFilter filter, LocalDate afterDate, UUID afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderSummaryResponse> query = cb.createQuery(OrderSummaryResponse.class);
+        Root<SalesOrder> order = query.from(SalesOrder.class);
+        Join<SalesOrder, Customer> customer = order.join("customer");
+
+        query.select(cb.construct(OrderSummaryResponse.class,
+                        order.get("id"),
+                        order.get("orderNumber"),
+                        customer.get("id"),
+                        customer.get("name"),
+                        order.get("status"),
+                        order.get("orderDate"),
+                        order.get("deliveryDate"),
+                        order.get("orderTotal")))
+                .where(pagePredicates(cb, order, filter, afterDate, afterId))
+                .orderBy(cb.asc(order.get("orderDate")), cb.asc(order.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private Predicate[] pagePredicates(CriteriaBuilder cb, Root<SalesOrder> order, OrderListFilter filter,
+                                       LocalDate afterDate, UUID afterId) {
+        List<Predicate> predicates = filterPredicates(cb, order, filter);
+        if (afterDate != null) {
+            predicates.add(cb.or(
+                    cb.greaterThan(order.<LocalDate>get("orderDate"), afterDate),
+                    cb.and(
+                            cb.equal(order.get("orderDate"), afterDate),
+                            cb.greaterThan(order.<UUID>get("id"), afterId))));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    private List<Predicate> filterPredicates(CriteriaBuilder cb, Root<SalesOrder> order, OrderListFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(order.get("status"), filter.getStatus()));
+        } else if (!filter.isIncludeCancelled()) {
+            predicates.add(cb.notEqual(order.get("status"), SalesOrderStatus.CANCELLED));
+        }
+        if (filter.getCustomerId() != null) {
+            predicates.add(cb.equal(order.get("customer").get("id"), filter.getCustomerId()));
+        }
+        if (filter.getFromDate() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(order.<LocalDate>get("orderDate"), filter.getFromDate()));
+        }
+        if (filter.getToDate() != null) {
+            predicates.add(cb.lessThanOrEqualTo(order.<LocalDate>get("orderDate"), filter.getToDate()));
+        }
+        return predicates;
+    }
+}
@@ -0,0 +1,112 @@
+package com.axseniors.salesorders.repo;
+
+import com.axseniors.salesorders.domain.SearchResultType;
+import com.axseniors.salesorders.dto.SearchHit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC access for {@code /api/search}. {@link #search} relies on the pg_trgm operators and indexes and only
+ * runs on PostgreSQL; the other methods feed the in-memory index used on other databases.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SearchRepo {
+
+    // Each branch is cut to the window on its own index before the union is ranked.
+    private static final Map<SearchResultType, String> POSTGRES_BRANCHES = Map.of(
+            SearchResultType.ORDER, """
+                    (select 'ORDER' as type, o.id, o.order_number as label, c.name as detail,
+                            similarity(o.order_number, :term) as score
+                     from sales_orders o
+                     join customers c on c.id = o.customer_id
+                     where o.order_number ilike :pattern
+                     order by o.order_number <-> :term
+                     limit :window)
+                    """,
+            SearchResultType.CUSTOMER, """
+                    (select 'CUSTOMER' as type, c.id, c.name as label, c.tax_id as detail,
+                            greatest(similarity(c.name, :term), coalesce(similarity(c.tax_id, :term), 0)) as score
+                     from customers c
+                     where c.name ilike :pattern or c.tax_id ilike :pattern
+                     order by score desc
+                     limit :window)
+                    """,
+            SearchResultType.PRODUCT, """
+                    (select 'PRODUCT' as type, p.id, p.code as label, p.name as detail,
+                            greatest(similarity(p.code, :term), similarity(p.name, :term)) as score
+                     from products p
+                     where p.code ilike :pattern or p.name ilike :pattern
+                     order by score desc
+                     limit :window)
+                    """);
+
+    private static final RowMapper<SearchHit> HIT = (rs, rowNum) -> new SearchHit(
+            SearchResultType.valueOf(rs.getString("type")),
+            rs.getObject("id", UUID.class),
+            rs.getString("label"),
+            rs.getString("detail"),
+            rs.getDouble("score"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<SearchHit> search(String term, Collection<SearchResultType> types, int offset, int limit) {
+        String branches = types.stream()
+                .sorted()
+                .map(POSTGRES_BRANCHES::get)
+                .collect(Collectors.joining(" union all "));
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("term", term)
+                .addValue("pattern", "%" + escapeLike(term) + "%")
+                .addValue("window", offset + limit)
+                .addValue("offset", offset)
+                .addValue("limit", limit);
+        return new NamedParameterJdbcTemplate(jdbcTemplate).query("""
+                select type, id, label, detail, score
+                from (%s) hits
+                order by score desc, type, label
+                offset :offset limit :limit
+                """.formatted(branches), params, HIT);
+    }
+
+    public List<SearchHit> findAllSearchable() {
+        List<SearchHit> entries = new ArrayList<>(jdbcTemplate.query("""
+                select 'ORDER' as type, o.id, o.order_number as label, c.name as detail, 0 as score
+                from sales_orders o
+                join customers c on c.id = o.customer_id
+                """, HIT));
+        entries.addAll(jdbcTemplate.query("select 'CUSTOMER' as type, id, name as label, tax_id as detail, 0 as score from customers", HIT));
+        entries.addAll(jdbcTemplate.query("select 'PRODUCT' as type, id, code as label, name as detail, 0 as score from products", HIT));
+        return entries;
+    }
+
+    /**
+     * Changes whenever an order, customer or product is inserted, updated or deleted, so an in-memory copy can
+     * tell whether it is stale without reloading.
+     */
+    public Map<String, Object> searchableStamp() {
+        return jdbcTemplate.queryForMap("""
+                select (select count(*) from sales_orders) as orders,
+                       (select coalesce(sum(version), 0) from sales_orders) as order_versions,
+                       (select count(*) from customers) as customers,
+                       (select max(updated_at) from customers) as customers_updated,
+                       (select count(*) from products) as products,
+                       (select max(updated_at) from products) as products_updated
+                """);
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
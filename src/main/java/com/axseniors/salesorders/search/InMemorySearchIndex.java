@@ -0,0 +1,122 @@
+package com.axseniors.salesorders.search;
+
+import com.axseniors.salesorders.domain.SearchResultType;
+import com.axseniors.salesorders.dto.SearchHit;
+import com.axseniors.salesorders.repo.SearchRepo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Search for databases without pg_trgm (H2 in development and tests). Orders, customers and products are
+ * loaded once into a map from every three-character substring of their searchable fields to the entries
+ * containing it; a search only scans the entries under the rarest substring of the term. The index is
+ * reloaded when {@link SearchRepo#searchableStamp()} shows a change. Sized for test data, not for production.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InMemorySearchIndex {
+
+    private static final Comparator<SearchHit> RANKING = Comparator.comparingDouble(SearchHit::getScore).reversed()
+            .thenComparing(SearchHit::getType)
+            .thenComparing(SearchHit::getLabel);
+
+    private final SearchRepo searchRepo;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    public List<SearchHit> search(String term, Collection<SearchResultType> types, int offset, int limit) {
+        String needle = term.toLowerCase(Locale.ROOT);
+        List<SearchHit> hits = new ArrayList<>();
+        for (SearchHit entry : current().candidates(needle)) {
+            if (types.contains(entry.getType()) && contains(entry, needle)) {
+                hits.add(new SearchHit(entry.getType(), entry.getId(), entry.getLabel(), entry.getDetail(), score(entry, term)));
+            }
+        }
+        hits.sort(RANKING);
+        return hits.subList(Math.min(offset, hits.size()), Math.min(offset + limit, hits.size()));
+    }
+
+    private Snapshot current() {
+        Map<String, Object> stamp = searchRepo.searchableStamp();
+        Snapshot loaded = snapshot;
+        if (loaded != null && loaded.stamp().equals(stamp)) {
+            return loaded;
+        }
+        reloadLock.lock();
+        try {
+            if (snapshot == null || !snapshot.stamp().equals(stamp)) {
+                snapshot = Snapshot.build(stamp, searchRepo.findAllSearchable());
+                log.debug("Search index reloaded: {} entries", snapshot.size());
+            }
+            return snapshot;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    // Orders are searched by number only; customers by name and tax ID, products by code and name.
+    private static double score(SearchHit entry, String term) {
+        double label = Trigrams.similarity(entry.getLabel(), term);
+        return entry.getType() == SearchResultType.ORDER ? label : Math.max(label, Trigrams.similarity(entry.getDetail(), term));
+    }
+
+    private static boolean contains(SearchHit entry, String needle) {
+        return lowerContains(entry.getLabel(), needle)
+                || entry.getType() != SearchResultType.ORDER && lowerContains(entry.getDetail(), needle);
+    }
+
+    private static boolean lowerContains(String value, String needle) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(needle);
+    }
+
+    private record Snapshot(Map<String, Object> stamp, Map<String, List<SearchHit>> postings, int size) {
+
+        static Snapshot build(Map<String, Object> stamp, List<SearchHit> entries) {
+            Map<String, List<SearchHit>> postings = new HashMap<>();
+            for (SearchHit entry : entries) {
+                index(postings, entry, entry.getLabel());
+                if (entry.getType() != SearchResultType.ORDER) {
+                    index(postings, entry, entry.getDetail());
+                }
+            }
+            return new Snapshot(stamp, postings, entries.size());
+        }
+
+        private static void index(Map<String, List<SearchHit>> postings, SearchHit entry, String value) {
+            if (value == null) {
+                return;
+            }
+            String lower = value.toLowerCase(Locale.ROOT);
+            for (int i = 0; i + 3 <= lower.length(); i++) {
+                List<SearchHit> posting = postings.computeIfAbsent(lower.substring(i, i + 3), key -> new ArrayList<>());
+                if (posting.isEmpty() || posting.get(posting.size() - 1) != entry) {
+                    posting.add(entry);
+                }
+            }
+        }
+
+        List<SearchHit> candidates(String needle) {
+            List<SearchHit> rarest = null;
+            for (int i = 0; i + 3 <= needle.length(); i++) {
+                List<SearchHit> posting = postings.getOrDefault(needle.substring(i, i + 3), List.of());
+                if (rarest == null || posting.size() < rarest.size()) {
+                    rarest = posting;
+                }
+            }
+            return Objects.requireNonNullElse(rarest, List.of());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.axseniors.salesorders.search;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Trigram similarity computed the way pg_trgm does it, so the in-memory index ranks like PostgreSQL: each
+ * alphanumeric word is lower-cased and padded with two spaces before and one after, and the similarity is the
+ * number of shared trigrams over the number of distinct trigrams in both strings.
+ */
+final class Trigrams {
+
+    private Trigrams() {
+    }
+
+    static double similarity(String a, String b) {
+        if (a == null || b == null) {
+            return 0;
+        }
+        Set<String> first = of(a);
+        Set<String> second = of(b);
+        if (first.isEmpty() || second.isEmpty()) {
+            return 0;
+        }
+        int shared = 0;
+        for (String trigram : first) {
+            if (second.contains(trigram)) {
+                shared++;
+            }
+        }
+        return (double) shared / (first.size() + second.size() - shared);
+    }
+
+    static Set<String> of(String value) {
+        Set<String> trigrams = new HashSet<>();
+        for (String word : value.toLowerCase(Locale.ROOT).split("[^\\p{Alnum}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+}
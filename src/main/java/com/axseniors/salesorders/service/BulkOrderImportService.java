@@ -0,0 +1,158 @@
+package com.axseniors.salesorders.service;
+
+import com.axseniors.salesorders.dto.BulkOrderItemResult;
+import com.axseniors.salesorders.dto.BulkOrderResponse;
+import com.axseniors.salesorders.dto.OrderUpsertRequest;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports a JSON array or an NDJSON stream of orders. The body is parsed one order at a time, each order is
+ * validated on its own, and valid orders are created in chunks of {@code sales-orders.bulk.chunk-size}, each
+ * chunk in its own transaction. If a chunk fails as a whole (for instance on a duplicate order number) its
+ * orders are retried one by one so only the offending orders are reported as failed.
+ * <p>
+ * If the body turns out to be malformed partway through, the orders read before that point are still
+ * created and the response reports them, with one failed item at the position where reading stopped; the
+ * rest of the body is ignored. A body that is malformed from the start is rejected with 400.
+ */
+@Slf4j
+@Service
+public class BulkOrderImportService {
+
+    private final SalesOrderService salesOrderService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public BulkOrderImportService(SalesOrderService salesOrderService,
+                                  ObjectMapper objectMapper,
+                                  Validator validator,
+                                  @Value("${sales-orders.bulk.chunk-size:500}") int chunkSize) {
+        this.salesOrderService = salesOrderService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    public BulkOrderResponse importOrders(InputStream body) {
+        List<BulkOrderItemResult> results = new ArrayList<>();
+        List<OrderUpsertRequest> chunk = new ArrayList<>(chunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(chunkSize);
+        int index = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                JsonNode node = objectMapper.readTree(parser);
+                String error = null;
+                OrderUpsertRequest request = null;
+                try {
+                    request = objectMapper.treeToValue(node, OrderUpsertRequest.class);
+                    error = validate(request);
+                } catch (JsonProcessingException ex) {
+                    error = "Malformed order: " + ex.getOriginalMessage();
+                }
+
+                if (error != null) {
+                    results.add(BulkOrderItemResult.builder().index(index).error(error).build());
+                } else {
+                    chunk.add(request);
+                    chunkIndexes.add(index);
+                    if (chunk.size() == chunkSize) {
+                        results.addAll(createChunk(chunk, chunkIndexes));
+                    }
+                }
+                index++;
+                token = parser.nextToken();
+            }
+        } catch (IOException ex) {
+            String error = ex instanceof JsonProcessingException parseError
+                    ? "Malformed JSON: " + parseError.getOriginalMessage()
+                    : "Could not read request body";
+            if (index == 0 && results.isEmpty() && chunk.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, error);
+            }
+            // Earlier chunks are committed already: create the orders read so far and report where reading stopped.
+            log.warn("Bulk import stopped at item {}: {}", index, ex.getMessage());
+            results.add(BulkOrderItemResult.builder().index(index).error(error).build());
+            index++;
+        }
+        results.addAll(createChunk(chunk, chunkIndexes));
+
+        results.sort(Comparator.comparingInt(BulkOrderItemResult::getIndex));
+        int created = (int) results.stream().filter(result -> result.getError() == null).count();
+        return BulkOrderResponse.builder()
+                .received(index)
+                .created(created)
+                .failed(index - created)
+                .results(results)
+                .build();
+    }
+
+    private List<BulkOrderItemResult> createChunk(List<OrderUpsertRequest> chunk, List<Integer> chunkIndexes) {
+        if (chunk.isEmpty()) {
+            return List.of();
+        }
+        List<BulkOrderItemResult> results = new ArrayList<>(chunk.size());
+        try {
+            List<BulkOrderItemResult> chunkResults = salesOrderService.createOrders(chunk);
+            for (BulkOrderItemResult result : chunkResults) {
+                results.add(result.withIndex(chunkIndexes.get(result.getIndex())));
+            }
+        } catch (RuntimeException chunkFailure) {
+            log.warn("Bulk chunk of {} orders failed, retrying individually: {}", chunk.size(), chunkFailure.getMessage());
+            for (int i = 0; i < chunk.size(); i++) {
+                results.add(createSingle(chunk.get(i), chunkIndexes.get(i)));
+            }
+        }
+        chunk.clear();
+        chunkIndexes.clear();
+        return results;
+    }
+
+    private BulkOrderItemResult createSingle(OrderUpsertRequest request, int index) {
+        try {
+            return salesOrderService.createOrders(List.of(request)).get(0).withIndex(index);
+        } catch (RuntimeException ex) {
+            return BulkOrderItemResult.builder()
+                    .index(index)
+                    .error("Order could not be saved: " + NestedExceptionUtils.getMostSpecificCause(ex).getMessage())
+                    .build();
+        }
+    }
+
+    private String validate(OrderUpsertRequest request) {
+        Set<ConstraintViolation<OrderUpsertRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+}
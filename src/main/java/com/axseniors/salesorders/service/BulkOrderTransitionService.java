@@ -0,0 +1,106 @@
+package com.axseniors.salesorders.service;
+
+import com.axseniors.salesorders.domain.CancelReason;
+import com.axseniors.salesorders.dto.BulkTransitionItemResult;
+import com.axseniors.salesorders.dto.BulkTransitionRequest;
+import com.axseniors.salesorders.dto.BulkTransitionResponse;
+import com.axseniors.salesorders.dto.OrderListFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Confirms or cancels many orders at once, chosen by id or by filter. Orders are processed in chunks of
+ * {@code sales-orders.bulk.chunk-size}, each chunk in its own transaction with set-based updates (see
+ * {@link SalesOrderService#confirmOrders}); an order that cannot make the transition is reported in its result
+ * and does not affect the others. A chunk that fails as a whole is reported as failed for each of its orders.
+ */
+@Slf4j
+@Service
+public class BulkOrderTransitionService {
+
+    private final SalesOrderService salesOrderService;
+    private final int chunkSize;
+
+    public BulkOrderTransitionService(SalesOrderService salesOrderService,
+                                      @Value("${sales-orders.bulk.chunk-size:500}") int chunkSize) {
+        this.salesOrderService = salesOrderService;
+        this.chunkSize = chunkSize;
+    }
+
+    public BulkTransitionResponse confirmOrders(BulkTransitionRequest request) {
+        return transition(request, salesOrderService::confirmOrders);
+    }
+
+    public BulkTransitionResponse cancelOrders(BulkTransitionRequest request) {
+        CancelReason reason = request.getReason();
+        if (reason == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A cancel reason is required");
+        }
+        return transition(request, chunk -> salesOrderService.cancelOrders(chunk, reason, request.getNote()));
+    }
+
+    private BulkTransitionResponse transition(BulkTransitionRequest request,
+                                              Function<List<UUID>, List<BulkTransitionItemResult>> transitionChunk) {
+        boolean byIds = request.getOrderIds() != null;
+        boolean byFilter = request.getCustomerId() != null || request.getFromDate() != null
+                || request.getToDate() != null || request.getStatus() != null;
+        if (byIds == byFilter) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Provide either orderIds or a filter");
+        }
+
+        List<BulkTransitionItemResult> results = new ArrayList<>();
+        if (byIds) {
+            List<UUID> ids = new ArrayList<>(new LinkedHashSet<>(request.getOrderIds()));
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                results.addAll(transitionChunk(ids.subList(from, Math.min(from + chunkSize, ids.size())), transitionChunk));
+            }
+        } else {
+            OrderListFilter filter = OrderListFilter.builder()
+                    .status(request.getStatus())
+                    .customerId(request.getCustomerId())
+                    .fromDate(request.getFromDate())
+                    .toDate(request.getToDate())
+                    .build();
+            OrderCursor after = null;
+            List<OrderCursor> keys;
+            do {
+                keys = salesOrderService.findOrderKeys(filter, after, chunkSize);
+                if (!keys.isEmpty()) {
+                    results.addAll(transitionChunk(keys.stream().map(OrderCursor::getId).toList(), transitionChunk));
+                    after = keys.get(keys.size() - 1);
+                }
+            } while (keys.size() == chunkSize);
+        }
+
+        int transitioned = (int) results.stream().filter(result -> result.getError() == null).count();
+        return BulkTransitionResponse.builder()
+                .requested(results.size())
+                .transitioned(transitioned)
+                .failed(results.size() - transitioned)
+                .results(results)
+                .build();
+    }
+
+    private List<BulkTransitionItemResult> transitionChunk(List<UUID> chunk,
+                                                           Function<List<UUID>, List<BulkTransitionItemResult>> transitionChunk) {
+        try {
+            return transitionChunk.apply(chunk);
+        } catch (RuntimeException ex) {
+            log.warn("Bulk transition of {} orders failed: {}", chunk.size(), ex.getMessage());
+            String error = "Order could not be updated: " + NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+            return chunk.stream()
+                    .map(id -> BulkTransitionItemResult.builder().orderId(id).error(error).build())
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.axseniors.salesorders.service;
+
+import com.axseniors.salesorders.domain.SalesOrder;
+import com.axseniors.salesorders.domain.SalesOrderLine;
+import com.axseniors.salesorders.dto.RollupRevenue;
+import com.axseniors.salesorders.dto.SalesRollupReport;
+import com.axseniors.salesorders.repo.DailySalesRollupRepo;
+import com.axseniors.salesorders.repo.DailySalesRollupRepo.Delta;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Maintains {@code daily_sales_rollup}, the confirmed sales per day, customer and product that dashboards read
+ * instead of scanning order lines. {@link SalesOrderService} adds an order when it is confirmed and reverses it
+ * when a confirmed order is cancelled, in the same transaction as the status change. Drafts are not counted,
+ * so creating or editing a draft leaves the rollup untouched.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DailySalesRollupService {
+
+    private static final int MAX_SAMPLE_KEYS = 100;
+    private static final int MAX_RANGE_DAYS = 3660;
+
+    private final DailySalesRollupRepo dailySalesRollupRepo;
+    private final OrderPricing orderPricing;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(SalesOrder order) {
+        apply(order, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reverse(SalesOrder order) {
+        apply(order, -1);
+    }
+
+    /**
+     * Set-based variants for bulk transitions: the deltas are aggregated from the order lines in the database.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addOrders(Collection<UUID> orderIds) {
+        if (!orderIds.isEmpty()) {
+            dailySalesRollupRepo.applyOrders(orderIds, 1);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reverseOrders(Collection<UUID> orderIds) {
+        if (!orderIds.isEmpty()) {
+            dailySalesRollupRepo.applyOrders(orderIds, -1);
+        }
+    }
+
+    @Transactional
+    public int rebuild() {
+        int rows = dailySalesRollupRepo.rebuild();
+        log.info("Rebuilt daily sales rollup: {} rows", rows);
+        return rows;
+    }
+
+    @Transactional(readOnly = true)
+    public SalesRollupReport verify() {
+        return SalesRollupReport.builder()
+                .rowsChecked(dailySalesRollupRepo.countRows())
+                .rowsMismatched(dailySalesRollupRepo.countMismatched())
+                .sampleMismatchedKeys(dailySalesRollupRepo.findMismatchedKeys(MAX_SAMPLE_KEYS))
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public List<RollupRevenue> revenueByDay(LocalDate fromDate, LocalDate toDate) {
+        LocalDate to = toDate != null ? toDate : LocalDate.now();
+        LocalDate from = fromDate != null ? fromDate : to.withDayOfMonth(1);
+        if (from.isAfter(to) || from.plusDays(MAX_RANGE_DAYS).isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid date range");
+        }
+        return dailySalesRollupRepo.sumByDay(from, to);
+    }
+
+    private void apply(SalesOrder order, int sign) {
+        // One delta per product; the repository applies them in the database's key order, as the bulk path does.
+        Map<UUID, Delta> byProduct = new HashMap<>();
+        for (SalesOrderLine line : order.getLines()) {
+            BigDecimal lineTotal = line.getLineTotal() != null ? line.getLineTotal() : orderPricing.calculateLineTotal(line);
+            BigDecimal discount = line.getUnitPrice().multiply(BigDecimal.valueOf(line.getQuantity())).subtract(lineTotal);
+            Delta delta = new Delta(order.getOrderDate(), order.getCustomer().getId(), line.getProduct().getId(),
+                    (long) sign * line.getQuantity(),
+                    lineTotal.multiply(BigDecimal.valueOf(sign)),
+                    discount.multiply(BigDecimal.valueOf(sign)),
+                    sign);
+            byProduct.merge(delta.productId(), delta, DailySalesRollupService::combine);
+        }
+        if (!byProduct.isEmpty()) {
+            dailySalesRollupRepo.applyDeltas(byProduct.values());
+        }
+    }
+
+    private static Delta combine(Delta a, Delta b) {
+        return new Delta(a.salesDate(), a.customerId(), a.productId(),
+                a.quantity() + b.quantity(),
+                a.revenue().add(b.revenue()),
+                a.discountTotal().add(b.discountTotal()),
+                a.lineCount() + b.lineCount());
+    }
+}
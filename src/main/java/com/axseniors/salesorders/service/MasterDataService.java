@@ -0,0 +1,227 @@
+package com.axseniors.salesorders.service;
+
+import com.axseniors.salesorders.domain.Customer;
+import com.axseniors.salesorders.domain.Product;
+import com.axseniors.salesorders.dto.CollectionVersion;
+import com.axseniors.salesorders.dto.CustomerRequest;
+import com.axseniors.salesorders.dto.CustomerResponse;
+import com.axseniors.salesorders.dto.ProductResponse;
+import com.axseniors.salesorders.repo.CustomerRepo;
+import com.axseniors.salesorders.repo.ProductRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Read-through cache in front of the customer and product tables. Entries are bounded and expire according to
+ * {@code spring.cache.caffeine.spec}; customer writes go through this service so the affected entries are
+ * refreshed or evicted once the change has been flushed.
+ * <p>
+ * The caches hold immutable {@link CustomerResponse} and {@link ProductResponse} copies, never entities. Callers
+ * that need an entity to reference from an order get a detached instance built from the cached copy for that
+ * call alone, so nothing a caller does to it can leak into the cache or into another request.
+ */
+@Service
+@RequiredArgsConstructor
+public class MasterDataService {
+
+    public static final String CUSTOMERS = "customers";
+    public static final String CUSTOMER_LIST = "customerList";
+    public static final String PRODUCTS = "products";
+    public static final String PRODUCT_LIST = "productList";
+
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+
+    private final CustomerRepo customerRepo;
+    private final ProductRepo productRepo;
+    private final CacheManager cacheManager;
+
+    @Cacheable(CUSTOMER_LIST)
+    @Transactional(readOnly = true)
+    public List<CustomerResponse> listCustomers() {
+        return customerRepo.findAll().stream().map(MasterDataService::toResponse).toList();
+    }
+
+    /**
+     * The customer as a detached entity to reference from an order; see {@link #findCustomers}.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Customer> findCustomer(UUID customerId) {
+        return Optional.ofNullable(findCustomers(List.of(customerId)).get(customerId));
+    }
+
+    @Transactional(readOnly = true)
+    public CollectionVersion customerListVersion() {
+        return customerRepo.findCollectionVersion();
+    }
+
+    @Cacheable(PRODUCT_LIST)
+    @Transactional(readOnly = true)
+    public List<ProductResponse> listProducts() {
+        return productRepo.findAll().stream().map(MasterDataService::toResponse).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public CollectionVersion productListVersion() {
+        return productRepo.findCollectionVersion();
+    }
+
+    /**
+     * Returns the products found for the given ids, as detached entities to reference from order lines. Ids
+     * already cached are served from memory; the rest are loaded with one IN query per chunk and cached. Unknown
+     * ids are simply absent from the result.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, Product> findProducts(Collection<UUID> productIds) {
+        Map<UUID, Product> products = new HashMap<>();
+        findAllCached(PRODUCTS, productIds, ProductResponse.class, productRepo::findAllById,
+                        MasterDataService::toResponse, ProductResponse::getId)
+                .forEach((id, product) -> products.put(id, toEntity(product)));
+        return products;
+    }
+
+    /**
+     * Bulk counterpart of {@link #findCustomer}, with the same cache and lookup rules as {@link #findProducts}.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, Customer> findCustomers(Collection<UUID> customerIds) {
+        Map<UUID, Customer> customers = new HashMap<>();
+        findAllCached(CUSTOMERS, customerIds, CustomerResponse.class, customerRepo::findAllById,
+                        MasterDataService::toResponse, CustomerResponse::getId)
+                .forEach((id, customer) -> customers.put(id, toEntity(customer)));
+        return customers;
+    }
+
+    @CacheEvict(value = CUSTOMER_LIST, allEntries = true)
+    @Transactional
+    public CustomerResponse createCustomer(CustomerRequest request) {
+        Customer customer = new Customer(
+                request.getName(),
+                request.getContactName(),
+                request.getEmail(),
+                request.getPhone(),
+                request.getAddress(),
+                request.getCity(),
+                request.getTaxId()
+        );
+        return toResponse(customerRepo.saveAndFlush(customer));
+    }
+
+    @Caching(
+            put = @CachePut(value = CUSTOMERS, key = "#customerId"),
+            evict = @CacheEvict(value = CUSTOMER_LIST, allEntries = true))
+    @Transactional
+    public CustomerResponse updateCustomer(UUID customerId, CustomerRequest request) {
+        Customer existing = customerRepo.findById(customerId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Customer not found"));
+        existing.setName(request.getName());
+        existing.setContactName(request.getContactName());
+        existing.setEmail(request.getEmail());
+        existing.setPhone(request.getPhone());
+        existing.setAddress(request.getAddress());
+        existing.setCity(request.getCity());
+        existing.setTaxId(request.getTaxId());
+        return toResponse(customerRepo.saveAndFlush(existing));
+    }
+
+    @Caching(evict = {
+            @CacheEvict(value = CUSTOMERS, key = "#customerId"),
+            @CacheEvict(value = CUSTOMER_LIST, allEntries = true)})
+    @Transactional
+    public void deleteCustomer(UUID customerId) {
+        try {
+            customerRepo.deleteById(customerId);
+            customerRepo.flush();
+        } catch (DataIntegrityViolationException ex) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Customer is used by orders");
+        }
+    }
+
+    private <E, T> Map<UUID, T> findAllCached(String cacheName, Collection<UUID> ids, Class<T> type,
+                                             Function<List<UUID>, List<E>> loader, Function<E, T> toCached,
+                                             Function<T, UUID> idOf) {
+        Cache cache = cacheManager.getCache(cacheName);
+        Map<UUID, T> found = new HashMap<>();
+        List<UUID> misses = new ArrayList<>();
+        for (UUID id : ids) {
+            T cached = cache.get(id, type);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+
+        for (int from = 0; from < misses.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<UUID> chunk = misses.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, misses.size()));
+            for (E entity : loader.apply(chunk)) {
+                T value = toCached.apply(entity);
+                UUID id = idOf.apply(value);
+                cache.put(id, value);
+                found.put(id, value);
+            }
+        }
+        return found;
+    }
+
+    private static CustomerResponse toResponse(Customer customer) {
+        return CustomerResponse.builder()
+                .id(customer.getId())
+                .version(customer.getVersion())
+                .updatedAt(customer.getUpdatedAt())
+                .name(customer.getName())
+                .contactName(customer.getContactName())
+                .email(customer.getEmail())
+                .phone(customer.getPhone())
+                .address(customer.getAddress())
+                .city(customer.getCity())
+                .taxId(customer.getTaxId())
+                .build();
+    }
+
+    private static ProductResponse toResponse(Product product) {
+        return ProductResponse.builder()
+                .id(product.getId())
+                .version(product.getVersion())
+                .updatedAt(product.getUpdatedAt())
+                .code(product.getCode())
+                .name(product.getName())
+                .basePrice(product.getBasePrice())
+                .build();
+    }
+
+    private static Customer toEntity(CustomerResponse cached) {
+        Customer customer = new Customer(cached.getName(), cached.getContactName(), cached.getEmail(), cached.getPhone(),
+                cached.getAddress(), cached.getCity(), cached.getTaxId());
+        customer.setId(cached.getId());
+        customer.setVersion(cached.getVersion());
+        customer.setUpdatedAt(cached.getUpdatedAt());
+        return customer;
+    }
+
+    private static Product toEntity(ProductResponse cached) {
+        Product product = new Product(cached.getCode(), cached.getName(), cached.getBasePrice());
+        product.setId(cached.getId());
+        product.setVersion(cached.getVersion());
+        product.setUpdatedAt(cached.getUpdatedAt());
+        return product;
+    }
+}
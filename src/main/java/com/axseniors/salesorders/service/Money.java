@@ -0,0 +1,92 @@
+package com.axseniors.salesorders.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Line pricing in whole cents on {@code long}s. Amounts with at most two decimals are exact in cents; the discount
+ * factor {@code 1 - discountPct / 100}, rounded HALF_UP to four decimals as before, is exact in units of 1/10,000.
+ * The rounded line total is therefore an integer division of two longs, with no intermediate {@code BigDecimal}.
+ * Values that do not fit (more than two decimals in a price, or overflow) are reported with {@link #NOT_EXACT}
+ * so callers can fall back to {@code BigDecimal}.
+ */
+final class Money {
+
+    static final long NOT_EXACT = Long.MIN_VALUE;
+
+    private static final long FACTOR_ONE = 10_000;
+    private static final int MAX_CACHED_FACTORS = 1_024;
+    private static final Map<BigDecimal, Long> DISCOUNT_FACTORS = new ConcurrentHashMap<>();
+
+    private Money() {
+    }
+
+    /**
+     * The amount in cents, or {@link #NOT_EXACT} when it has sub-cent digits or does not fit in a long.
+     */
+    static long toCents(BigDecimal amount) {
+        try {
+            return amount.movePointRight(2).longValueExact();
+        } catch (ArithmeticException ex) {
+            return NOT_EXACT;
+        }
+    }
+
+    /**
+     * {@code 1 - discountPct / 100} rounded HALF_UP to four decimals, in units of 1/10,000.
+     */
+    static long discountFactor(BigDecimal discountPct) {
+        if (discountPct.signum() == 0) {
+            return FACTOR_ONE;
+        }
+        Long cached = DISCOUNT_FACTORS.get(discountPct);
+        if (cached != null) {
+            return cached;
+        }
+        long factor;
+        try {
+            factor = FACTOR_ONE - discountPct.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        } catch (ArithmeticException ex) {
+            return NOT_EXACT;
+        }
+        if (DISCOUNT_FACTORS.size() < MAX_CACHED_FACTORS) {
+            DISCOUNT_FACTORS.put(discountPct, factor);
+        }
+        return factor;
+    }
+
+    /**
+     * {@code cents * factor / 10,000} rounded HALF_UP to whole cents, or {@link #NOT_EXACT} on overflow.
+     */
+    static long applyFactor(long cents, long factor) {
+        long product;
+        try {
+            product = Math.multiplyExact(cents, factor);
+        } catch (ArithmeticException ex) {
+            return NOT_EXACT;
+        }
+        long quotient = product / FACTOR_ONE;
+        long remainder = Math.abs(product % FACTOR_ONE);
+        if (remainder * 2 >= FACTOR_ONE) {
+            quotient += Long.signum(product);
+        }
+        return quotient;
+    }
+
+    /**
+     * {@code unitPrice * quantity} in cents, or {@link #NOT_EXACT}.
+     */
+    static long lineSubtotalCents(BigDecimal unitPrice, int quantity) {
+        long unitCents = toCents(unitPrice);
+        if (unitCents == NOT_EXACT) {
+            return NOT_EXACT;
+        }
+        try {
+            return Math.multiplyExact(unitCents, (long) quantity);
+        } catch (ArithmeticException ex) {
+            return NOT_EXACT;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.axseniors.salesorders.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "sales-orders.archive.enabled", havingValue = "true")
+public class OrderArchiveJob {
+
+    private final OrderArchiveService orderArchiveService;
+
+    @Scheduled(cron = "${sales-orders.archive.cron:0 30 3 * * *}")
+    public void archive() {
+        orderArchiveService.archive(LocalDate.now());
+    }
+}
@@ -0,0 +1,100 @@
+package com.axseniors.salesorders.service;
+
+import com.axseniors.salesorders.dto.OrderResponse;
+import com.axseniors.salesorders.repo.OrderArchiveRepo;
+import com.axseniors.salesorders.repo.OrderArchiveRepo.ArchivableOrder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Moves cancelled orders and old orders out of {@code sales_orders} into the archive tables, in batches of
+ * {@code sales-orders.archive.batch-size} with one transaction per batch. Cancelled orders are archived once
+ * they are dated more than {@code cancelled-after-days} ago, any other order after {@code retention-months}.
+ * Archived orders are read-only and served by {@code /api/archive/orders}; confirmed ones stay counted in the
+ * daily sales rollup.
+ */
+@Slf4j
+@Service
+public class OrderArchiveService {
+
+    private static final int MAX_LIST_SIZE = 200;
+
+    private final OrderArchiveRepo orderArchiveRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int retentionMonths;
+    private final int cancelledAfterDays;
+
+    public OrderArchiveService(OrderArchiveRepo orderArchiveRepo,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${sales-orders.archive.batch-size:500}") int batchSize,
+                               @Value("${sales-orders.archive.retention-months:24}") int retentionMonths,
+                               @Value("${sales-orders.archive.cancelled-after-days:30}") int cancelledAfterDays) {
+        this.orderArchiveRepo = orderArchiveRepo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retentionMonths = retentionMonths;
+        this.cancelledAfterDays = cancelledAfterDays;
+    }
+
+    /**
+     * Archives every order that is due as of {@code today} and returns how many were moved.
+     */
+    public int archive(LocalDate today) {
+        LocalDate cancelledBefore = today.minusDays(cancelledAfterDays);
+        LocalDate olderThan = today.minusMonths(retentionMonths);
+        int total = 0;
+        int moved;
+        do {
+            moved = archiveBatch(cancelledBefore, olderThan);
+            total += moved;
+        } while (moved == batchSize);
+        if (total > 0) {
+            log.info("Archived {} orders (cancelled before {}, any before {})", total, cancelledBefore, olderThan);
+        }
+        return total;
+    }
+
+    @Transactional(readOnly = true)
+    public OrderResponse getArchivedOrder(UUID orderId) {
+        return orderArchiveRepo.findOrder(orderId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Archived order not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderResponse> listArchivedOrders(UUID customerId, LocalDate fromDate, LocalDate toDate, int limit) {
+        LocalDate to = toDate != null ? toDate : LocalDate.now();
+        LocalDate from = fromDate != null ? fromDate : to.minusYears(1);
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "fromDate must not be after toDate");
+        }
+        return orderArchiveRepo.findOrders(customerId, from, to, Math.max(1, Math.min(limit, MAX_LIST_SIZE)));
+    }
+
+    private int archiveBatch(LocalDate cancelledBefore, LocalDate olderThan) {
+        Integer moved = transactionTemplate.execute(status -> {
+            List<ArchivableOrder> orders = orderArchiveRepo.lockArchivable(cancelledBefore, olderThan, batchSize);
+            if (orders.isEmpty()) {
+                return 0;
+            }
+            orderArchiveRepo.ensurePartitions(orders.stream()
+                    .map(order -> order.orderDate().getYear())
+                    .collect(Collectors.toCollection(TreeSet::new)));
+            return orderArchiveRepo.moveToArchive(orders.stream().map(ArchivableOrder::id).toList(), Instant.now());
+        });
+        return moved == null ? 0 : moved;
+    }
+}
@@ -0,0 +1,128 @@
+package com.axseniors.salesorders.service;
+
+import com.axseniors.salesorders.domain.SalesOrder;
+import com.axseniors.salesorders.domain.SalesOrderLine;
+import com.axseniors.salesorders.dto.OrderResponse;
+import com.axseniors.salesorders.repo.OrderArchiveRepo;
+import com.axseniors.salesorders.repo.SalesOrderLineRepo;
+import com.axseniors.salesorders.repo.SalesOrderRepo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class OrderExportService {
+
+    private static final int CHUNK_SIZE = 250;
+    private static final int NEWLINE = '\n';
+
+    private final SalesOrderRepo salesOrderRepo;
+    private final SalesOrderLineRepo salesOrderLineRepo;
+    private final OrderArchiveRepo orderArchiveRepo;
+    private final OrderMapper orderMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final Duration timeout;
+
+    public OrderExportService(SalesOrderRepo salesOrderRepo,
+                              SalesOrderLineRepo salesOrderLineRepo,
+                              OrderArchiveRepo orderArchiveRepo,
+                              OrderMapper orderMapper,
+                              ObjectMapper objectMapper,
+                              EntityManager entityManager,
+                              @Value("${sales-orders.export.timeout:1h}") Duration timeout) {
+        this.salesOrderRepo = salesOrderRepo;
+        this.salesOrderLineRepo = salesOrderLineRepo;
+        this.orderArchiveRepo = orderArchiveRepo;
+        this.orderMapper = orderMapper;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.timeout = timeout;
+    }
+
+    /**
+     * How long one export may stream before the request is timed out; applies to the export only, other async
+     * requests keep the container default.
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Writes every order as one JSON document per line. Orders are read through a forward-only cursor and
+     * handled in chunks: the lines of a chunk are fetched with a single query, written, and the chunk is then
+     * evicted from the persistence context so memory does not grow with the size of the table. Archived orders
+     * follow the active ones, read the same way from the archive tables, so the export covers every order.
+     */
+    @Transactional(readOnly = true)
+    public void exportNdjson(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(OrderResponse.class);
+        List<SalesOrder> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (Stream<SalesOrder> orders = salesOrderRepo.streamAllForExport()) {
+            Iterator<SalesOrder> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE) {
+                    writeChunk(chunk, writer, out);
+                }
+            }
+            writeChunk(chunk, writer, out);
+        }
+
+        List<OrderResponse> archivedChunk = new ArrayList<>(CHUNK_SIZE);
+        try (Stream<OrderResponse> archived = orderArchiveRepo.streamOrdersForExport()) {
+            Iterator<OrderResponse> iterator = archived.iterator();
+            while (iterator.hasNext()) {
+                archivedChunk.add(iterator.next());
+                if (archivedChunk.size() == CHUNK_SIZE) {
+                    writeArchivedChunk(archivedChunk, writer, out);
+                }
+            }
+            writeArchivedChunk(archivedChunk, writer, out);
+        }
+    }
+
+    private void writeChunk(List<SalesOrder> chunk, ObjectWriter writer, OutputStream out) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<UUID> orderIds = chunk.stream().map(SalesOrder::getId).toList();
+        Map<UUID, List<SalesOrderLine>> linesByOrder = salesOrderLineRepo.findAllWithProductByOrderIdIn(orderIds).stream()
+                .collect(Collectors.groupingBy(line -> line.getOrder().getId()));
+
+        for (SalesOrder order : chunk) {
+            OrderResponse response = orderMapper.toResponse(order, linesByOrder.getOrDefault(order.getId(), List.of()));
+            out.write(writer.writeValueAsBytes(response));
+            out.write(NEWLINE);
+        }
+        out.flush();
+        chunk.clear();
+        entityManager.clear();
+    }
+
+    private void writeArchivedChunk(List<OrderResponse> chunk, ObjectWriter writer, OutputStream out) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        for (OrderResponse order : orderArchiveRepo.withLines(chunk)) {
+            out.write(writer.writeValueAsBytes(order));
+            out.write(NEWLINE);
+        }
+        out.flush();
+        chunk.clear();
+    }
+}
@@ -0,0 +1,64 @@
+package com.axseniors.salesorders.service;
+
+import com.axseniors.salesorders.domain.SalesOrder;
+import com.axseniors.salesorders.domain.SalesOrderLine;
+import com.axseniors.salesorders.dto.OrderLineResponse;
+import com.axseniors.salesorders.dto.OrderResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class OrderMapper {
+
+    private final OrderPricing orderPricing;
+
+    public OrderResponse toResponse(SalesOrder order) {
+        return toResponse(order, order.getLines());
+    }
+
+    /**
+     * Uses the stored totals. Orders written before totals were persisted, and not backfilled yet, get them
+     * calculated into the response only; the entities are left untouched.
+     */
+    public OrderResponse toResponse(SalesOrder order, List<SalesOrderLine> lines) {
+        List<OrderLineResponse> lineResponses = new ArrayList<>();
+        for (SalesOrderLine line : lines) {
+            lineResponses.add(OrderLineResponse.builder()
+                    .lineId(line.getId())
+                    .productId(line.getProduct().getId())
+                    .productCode(line.getProduct().getCode())
+                    .productName(line.getProduct().getName())
+                    .quantity(line.getQuantity())
+                    .unitPrice(line.getUnitPrice())
+                    .discountPct(line.getDiscountPct())
+                    .lineTotal(line.getLineTotal() != null ? line.getLineTotal() : orderPricing.calculateLineTotal(line))
+                    .build());
+        }
+
+        OrderResponse.OrderResponseBuilder response = OrderResponse.builder()
+                .id(order.getId())
+                .orderNumber(order.getOrderNumber())
+                .status(order.getStatus())
+                .cancelReason(order.getCancelReason())
+                .cancelNote(order.getCancelNote())
+                .customerId(order.getCustomer().getId())
+                .customerName(order.getCustomer().getName())
+                .orderDate(order.getOrderDate())
+                .deliveryDate(order.getDeliveryDate())
+                .orderTotal(order.getOrderTotal())
+                .orderSubtotal(order.getOrderSubtotal())
+                .orderDiscountTotal(order.getOrderDiscountTotal())
+                .lines(lineResponses);
+        if (order.getOrderTotal() == null) {
+            OrderTotals totals = orderPricing.calculate(lines);
+            response.orderTotal(totals.getTotal())
+                    .orderSubtotal(totals.getSubtotal())
+                    .orderDiscountTotal(totals.getDiscountTotal());
+        }
+        return response.build();
+    }
+}
@@ -0,0 +1,169 @@
+package com.axseniors.salesorders.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Hands out order numbers {@code SO-yyyyMMdd-NNNN} from a per-day counter row. Each instance reserves a block
+ * of numbers at a time under a row lock in its own short transaction and then serves the block from memory,
+ * so concurrent requests and other instances never receive the same number and no lookup is needed per order.
+ * The suffix is zero-padded to four digits and simply grows wider past 9,999 orders a day.
+ * <p>
+ * Blocks are reserved over a small pool of their own ({@code sales-orders.order-number.pool-size}) rather than
+ * the application pool: the caller already holds an application connection for its order transaction, so a
+ * refill that needed a second one could wait forever once every request thread is parked on the refill lock.
+ */
+@Component
+public class OrderNumberGenerator implements DisposableBean {
+
+    private static final int MAX_ALLOCATION_ATTEMPTS = 3;
+    private static final Pattern GENERATED_NUMBER = Pattern.compile("SO-\\d{8}-\\d+");
+    private static final Pattern DIGITS = Pattern.compile("\\d{1,18}");
+
+    private final HikariDataSource counterPool;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate allocationTransaction;
+    private final int blockSize;
+
+    // A lock rather than synchronized: the refill runs a JDBC transaction, and a virtual thread blocked inside
+    // a synchronized block on Java 21 pins its carrier thread for the whole round trip.
+    private final ReentrantLock refillLock = new ReentrantLock();
+
+    private volatile Block current = new Block(LocalDate.MIN, 0, 0);
+
+    public OrderNumberGenerator(DataSourceProperties dataSourceProperties,
+                                @Value("${sales-orders.order-number.block-size:50}") int blockSize,
+                                @Value("${sales-orders.order-number.pool-size:2}") int poolSize,
+                                @Value("${sales-orders.order-number.connection-timeout:10s}") Duration connectionTimeout) {
+        this.counterPool = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        this.counterPool.setPoolName("order-numbers");
+        this.counterPool.setMaximumPoolSize(poolSize);
+        this.counterPool.setMinimumIdle(0);
+        this.counterPool.setConnectionTimeout(connectionTimeout.toMillis());
+        this.jdbcTemplate = new JdbcTemplate(counterPool);
+        this.allocationTransaction = new TransactionTemplate(new DataSourceTransactionManager(counterPool));
+        this.blockSize = blockSize;
+    }
+
+    public String next() {
+        LocalDate today = LocalDate.now();
+        while (true) {
+            Block block = current;
+            if (block.day.equals(today)) {
+                long value = block.next.getAndIncrement();
+                if (value < block.end) {
+                    return format(today, value);
+                }
+            }
+            refill(block, today);
+        }
+    }
+
+    /**
+     * Whether a number has the generator's own format. Client-supplied numbers in that format are refused, as a
+     * later block could hand out the same value.
+     */
+    public boolean isGeneratorFormat(String orderNumber) {
+        return GENERATED_NUMBER.matcher(orderNumber).matches();
+    }
+
+    @Override
+    public void destroy() {
+        counterPool.close();
+    }
+
+    private void refill(Block exhausted, LocalDate day) {
+        refillLock.lock();
+        try {
+            if (current != exhausted) {
+                return;
+            }
+            long start = allocate(day);
+            current = new Block(day, start, start + blockSize);
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private long allocate(LocalDate day) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return allocationTransaction.execute(status -> {
+                    List<Long> next = jdbcTemplate.queryForList(
+                            "select next_value from order_number_counters where counter_date = ? for update",
+                            Long.class, day);
+                    if (next.isEmpty()) {
+                        long start = firstFreeValue(day);
+                        jdbcTemplate.update("insert into order_number_counters (counter_date, next_value) values (?, ?)",
+                                day, start + blockSize);
+                        return start;
+                    }
+                    long start = next.get(0);
+                    jdbcTemplate.update("update order_number_counters set next_value = ? where counter_date = ?",
+                            start + blockSize, day);
+                    return start;
+                });
+            } catch (DataIntegrityViolationException ex) {
+                // Another instance created today's counter first; the next attempt locks its row instead.
+                if (attempt >= MAX_ALLOCATION_ATTEMPTS) {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts a new day's counter after any number already issued that day, e.g. by the random four-digit
+     * suffixes used before the counter existed. Suffixes are compared as numbers, since past 9,999 the text
+     * order no longer matches ({@code -10000} sorts before {@code -9999}); suffixes that are not digits were not
+     * issued by a generator and are skipped. This runs once per day, when the counter row is created.
+     */
+    private long firstFreeValue(LocalDate day) {
+        String prefix = prefix(day);
+        List<String> issued = jdbcTemplate.queryForList(
+                "select order_number from sales_orders where order_number like ?", String.class, prefix + "%");
+        long highest = 0;
+        for (String orderNumber : issued) {
+            String suffix = orderNumber.substring(prefix.length());
+            if (DIGITS.matcher(suffix).matches()) {
+                highest = Math.max(highest, Long.parseLong(suffix));
+            }
+        }
+        return highest + 1;
+    }
+
+    private static String format(LocalDate day, long value) {
+        return prefix(day) + String.format("%04d", value);
+    }
+
+    private static String prefix(LocalDate day) {
+        return "SO-" + day.format(DateTimeFormatter.BASIC_ISO_DATE) + "-";
+    }
+
+    private static final class Block {
+        private final LocalDate day;
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(LocalDate day, long start, long end) {
+            this.day = day;
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
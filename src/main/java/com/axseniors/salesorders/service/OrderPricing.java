@@ -0,0 +1,115 @@
+package com.axseniors.salesorders.service;
+
+import com.axseniors.salesorders.domain.SalesOrder;
+import com.axseniors.salesorders.domain.SalesOrderLine;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+@Component
+public class OrderPricing {
+
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+
+    /**
+     * Computes the line totals and the order totals and stores them on the entities, so reads can use the
+     * persisted values instead of recomputing them.
+     */
+    public void applyTotals(SalesOrder order) {
+        applyTotals(order, order.getLines());
+    }
+
+    public void applyTotals(SalesOrder order, List<SalesOrderLine> lines) {
+        OrderTotals totals = accumulate(lines, true);
+        order.setOrderTotal(totals.getTotal());
+        order.setOrderSubtotal(totals.getSubtotal());
+        order.setOrderDiscountTotal(totals.getDiscountTotal());
+    }
+
+    public OrderTotals calculate(List<SalesOrderLine> lines) {
+        return accumulate(lines, false);
+    }
+
+    /**
+     * {@code unitPrice * quantity * (1 - discountPct / 100)}, the factor rounded HALF_UP to four decimals and the
+     * result to two. Computed in cents on longs (see {@link Money}) whenever the price has at most two decimals.
+     */
+    public BigDecimal calculateLineTotal(SalesOrderLine line) {
+        long subtotalCents = Money.lineSubtotalCents(line.getUnitPrice(), line.getQuantity());
+        long totalCents = lineTotalCents(subtotalCents, line.getDiscountPct());
+        return totalCents != Money.NOT_EXACT ? BigDecimal.valueOf(totalCents, 2) : exactLineTotal(line);
+    }
+
+    /**
+     * Sums the lines in cents. Subtotal and discount are rounded only once, on the order, as before; lines whose
+     * price has sub-cent digits, and any line that would overflow the running cent sums, are carried exactly in a
+     * {@code BigDecimal} remainder.
+     */
+    private OrderTotals accumulate(List<SalesOrderLine> lines, boolean storeLineTotals) {
+        long totalCents = 0;
+        long subtotalCents = 0;
+        BigDecimal total = null;
+        BigDecimal subtotal = null;
+
+        for (SalesOrderLine line : lines) {
+            long lineSubtotalCents = Money.lineSubtotalCents(line.getUnitPrice(), line.getQuantity());
+            long lineTotalCents = lineTotalCents(lineSubtotalCents, line.getDiscountPct());
+            BigDecimal lineTotal;
+            if (lineTotalCents != Money.NOT_EXACT) {
+                lineTotal = storeLineTotals ? BigDecimal.valueOf(lineTotalCents, 2) : null;
+                try {
+                    long nextSubtotalCents = Math.addExact(subtotalCents, lineSubtotalCents);
+                    totalCents = Math.addExact(totalCents, lineTotalCents);
+                    subtotalCents = nextSubtotalCents;
+                } catch (ArithmeticException ex) {
+                    // The running sums no longer fit in a long; the line goes to the exact remainder instead.
+                    subtotal = add(subtotal, BigDecimal.valueOf(lineSubtotalCents, 2));
+                    total = add(total, BigDecimal.valueOf(lineTotalCents, 2));
+                }
+            } else {
+                lineTotal = exactLineTotal(line);
+                subtotal = add(subtotal, line.getUnitPrice().multiply(BigDecimal.valueOf(line.getQuantity())));
+                total = add(total, lineTotal);
+            }
+            if (storeLineTotals) {
+                line.setLineTotal(lineTotal);
+            }
+        }
+
+        if (subtotal == null) {
+            BigDecimal orderTotal = BigDecimal.valueOf(totalCents, 2);
+            BigDecimal orderSubtotal = BigDecimal.valueOf(subtotalCents, 2);
+            // Subtracted as decimals: with discounts above 100% the total is negative and the difference could overflow.
+            return new OrderTotals(orderTotal, orderSubtotal, orderSubtotal.subtract(orderTotal));
+        }
+        BigDecimal exactSubtotal = subtotal.add(BigDecimal.valueOf(subtotalCents, 2));
+        BigDecimal exactTotal = total.add(BigDecimal.valueOf(totalCents, 2));
+        return new OrderTotals(
+                exactTotal.setScale(2, RoundingMode.HALF_UP),
+                exactSubtotal.setScale(2, RoundingMode.HALF_UP),
+                exactSubtotal.subtract(exactTotal).setScale(2, RoundingMode.HALF_UP));
+    }
+
+    private static BigDecimal add(BigDecimal sum, BigDecimal value) {
+        return sum == null ? value : sum.add(value);
+    }
+
+    private static long lineTotalCents(long subtotalCents, BigDecimal discountPct) {
+        if (subtotalCents == Money.NOT_EXACT) {
+            return Money.NOT_EXACT;
+        }
+        long factor = Money.discountFactor(discountPct);
+        return factor == Money.NOT_EXACT ? Money.NOT_EXACT : Money.applyFactor(subtotalCents, factor);
+    }
+
+    private static BigDecimal exactLineTotal(SalesOrderLine line) {
+        BigDecimal discountFactor = BigDecimal.ONE.subtract(
+                line.getDiscountPct().divide(ONE_HUNDRED, 4, RoundingMode.HALF_UP));
+        return line.getUnitPrice()
+                .multiply(BigDecimal.valueOf(line.getQuantity()))
+                .multiply(discountFactor)
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+}
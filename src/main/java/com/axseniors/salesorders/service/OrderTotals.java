@@ -0,0 +1,12 @@
+package com.axseniors.salesorders.service;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+@Value
+public class OrderTotals {
+    BigDecimal total;
+    BigDecimal subtotal;
+    BigDecimal discountTotal;
+}
@@ -0,0 +1,116 @@
+package com.axseniors.salesorders.service;
+
+import com.axseniors.salesorders.domain.SalesOrder;
+import com.axseniors.salesorders.domain.SalesOrderLine;
+import com.axseniors.salesorders.dto.OrderListFilter;
+import com.axseniors.salesorders.dto.OrderTotalsReport;
+import com.axseniors.salesorders.repo.SalesOrderRepo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps the persisted order totals honest: backfills orders written before totals were stored and compares
+ * the stored values with a fresh calculation. Both walk the table in batches, one transaction per batch.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderTotalsMaintenanceService {
+
+    private static final int BATCH_SIZE = 200;
+    private static final int MAX_SAMPLE_IDS = 100;
+
+    private final SalesOrderRepo salesOrderRepo;
+    private final OrderPricing orderPricing;
+    private final TransactionTemplate transactionTemplate;
+
+    public int backfillMissingTotals() {
+        int updated = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> backfillBatch());
+            updated += batch;
+        } while (batch > 0);
+        if (updated > 0) {
+            log.info("Backfilled stored totals for {} orders", updated);
+        }
+        return updated;
+    }
+
+    public OrderTotalsReport verifyTotals() {
+        OrderListFilter allOrders = OrderListFilter.builder().includeCancelled(true).build();
+        VerificationState state = new VerificationState();
+        boolean more = true;
+        while (more) {
+            more = Boolean.TRUE.equals(transactionTemplate.execute(status -> verifyBatch(allOrders, state)));
+        }
+        return OrderTotalsReport.builder()
+                .ordersChecked(state.checked)
+                .ordersMismatched(state.mismatched)
+                .ordersMissingTotals(state.missing)
+                .sampleMismatchedOrderIds(state.sampleIds)
+                .build();
+    }
+
+    private int backfillBatch() {
+        List<UUID> ids = salesOrderRepo.findIdsWithoutTotals(PageRequest.of(0, BATCH_SIZE));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<SalesOrder> orders = salesOrderRepo.findAllWithDetailsByIdIn(ids);
+        orders.forEach(orderPricing::applyTotals);
+        return orders.size();
+    }
+
+    private boolean verifyBatch(OrderListFilter filter, VerificationState state) {
+        List<UUID> ids = salesOrderRepo.findPageIds(filter, state.afterDate, state.afterId, BATCH_SIZE);
+        List<SalesOrder> orders = ids.isEmpty() ? List.of() : salesOrderRepo.findAllWithDetailsByIdIn(ids);
+        if (orders.isEmpty()) {
+            return false;
+        }
+        for (SalesOrder order : orders) {
+            state.checked++;
+            if (order.getOrderTotal() == null) {
+                state.missing++;
+            } else if (!matchesRecalculation(order)) {
+                state.mismatched++;
+                if (state.sampleIds.size() < MAX_SAMPLE_IDS) {
+                    state.sampleIds.add(order.getId());
+                }
+            }
+        }
+        SalesOrder last = orders.get(orders.size() - 1);
+        state.afterDate = last.getOrderDate();
+        state.afterId = last.getId();
+        return ids.size() == BATCH_SIZE;
+    }
+
+    private boolean matchesRecalculation(SalesOrder order) {
+        for (SalesOrderLine line : order.getLines()) {
+            if (line.getLineTotal() == null || line.getLineTotal().compareTo(orderPricing.calculateLineTotal(line)) != 0) {
+                return false;
+            }
+        }
+        OrderTotals expected = orderPricing.calculate(order.getLines());
+        return expected.getTotal().compareTo(order.getOrderTotal()) == 0
+                && expected.getSubtotal().compareTo(order.getOrderSubtotal()) == 0
+                && expected.getDiscountTotal().compareTo(order.getOrderDiscountTotal()) == 0;
+    }
+
+    private static final class VerificationState {
+        private long checked;
+        private long mismatched;
+        private long missing;
+        private final List<UUID> sampleIds = new ArrayList<>();
+        private LocalDate afterDate;
+        private UUID afterId;
+    }
+}
@@ -0,0 +1,109 @@
+package com.axseniors.salesorders.service;
+
+import com.axseniors.salesorders.domain.CancelReason;
+import com.axseniors.salesorders.domain.SalesOrderStatus;
+import com.axseniors.salesorders.dto.AnalyticsFilter;
+import com.axseniors.salesorders.dto.CancellationReport;
+import com.axseniors.salesorders.dto.CustomerRevenue;
+import com.axseniors.salesorders.dto.PeriodRevenue;
+import com.axseniors.salesorders.dto.ProductRevenue;
+import com.axseniors.salesorders.repo.SalesAnalyticsRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sales figures aggregated by the database. Every query is bounded by an order date range (the last
+ * {@value #DEFAULT_RANGE_DAYS} days when none is given) and, unless a status is requested, leaves out
+ * cancelled orders. Archived orders are included, like in the daily sales rollup.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SalesAnalyticsService {
+
+    private static final int DEFAULT_RANGE_DAYS = 30;
+    private static final int MAX_LIMIT = 500;
+    private static final Set<SalesOrderStatus> REVENUE_STATUSES = EnumSet.complementOf(EnumSet.of(SalesOrderStatus.CANCELLED));
+
+    private final SalesAnalyticsRepo salesAnalyticsRepo;
+
+    public List<CustomerRevenue> revenueByCustomer(AnalyticsFilter filter, int limit) {
+        LocalDate to = toDate(filter);
+        return salesAnalyticsRepo.revenueByCustomer(fromDate(filter, to), to, statuses(filter), limit(limit));
+    }
+
+    public List<ProductRevenue> revenueByProduct(AnalyticsFilter filter, int limit) {
+        LocalDate to = toDate(filter);
+        return salesAnalyticsRepo.revenueByProduct(fromDate(filter, to), to, statuses(filter), limit(limit));
+    }
+
+    public List<PeriodRevenue> revenueByDay(AnalyticsFilter filter) {
+        LocalDate to = toDate(filter);
+        return salesAnalyticsRepo.revenueByDay(fromDate(filter, to), to, statuses(filter));
+    }
+
+    public List<PeriodRevenue> revenueByMonth(AnalyticsFilter filter) {
+        LocalDate to = toDate(filter);
+        return salesAnalyticsRepo.revenueByMonth(fromDate(filter, to), to, statuses(filter)).stream()
+                .map(row -> new PeriodRevenue(
+                        LocalDate.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue(), 1),
+                        ((Number) row[2]).longValue(),
+                        (BigDecimal) row[3],
+                        (BigDecimal) row[4]))
+                .toList();
+    }
+
+    public CancellationReport cancellations(AnalyticsFilter filter) {
+        LocalDate to = toDate(filter);
+        LocalDate from = fromDate(filter, to);
+        long placed = salesAnalyticsRepo.countPlaced(from, to);
+        List<CancellationReport.ReasonCount> byReason = salesAnalyticsRepo
+                .countCancelledByReason(from, to, SalesOrderStatus.CANCELLED).stream()
+                .map(row -> {
+                    long orders = ((Number) row[1]).longValue();
+                    return new CancellationReport.ReasonCount((CancelReason) row[0], orders, rate(orders, placed));
+                })
+                .toList();
+        long cancelled = byReason.stream().mapToLong(CancellationReport.ReasonCount::getOrders).sum();
+        return CancellationReport.builder()
+                .ordersPlaced(placed)
+                .ordersCancelled(cancelled)
+                .cancellationRate(rate(cancelled, placed))
+                .byReason(byReason)
+                .build();
+    }
+
+    private LocalDate toDate(AnalyticsFilter filter) {
+        return filter.getToDate() != null ? filter.getToDate() : LocalDate.now();
+    }
+
+    private LocalDate fromDate(AnalyticsFilter filter, LocalDate to) {
+        LocalDate from = filter.getFromDate() != null ? filter.getFromDate() : to.minusDays(DEFAULT_RANGE_DAYS);
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "fromDate must not be after toDate");
+        }
+        return from;
+    }
+
+    private Set<SalesOrderStatus> statuses(AnalyticsFilter filter) {
+        return filter.getStatus() != null ? EnumSet.of(filter.getStatus()) : REVENUE_STATUSES;
+    }
+
+    private Pageable limit(int limit) {
+        return Pageable.ofSize(Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    private static double rate(long part, long whole) {
+        return whole == 0 ? 0 : (double) part / whole;
+    }
+}
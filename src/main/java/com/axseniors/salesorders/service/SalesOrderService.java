@@ -1,17 +1,22 @@
 package com.axseniors.salesorders.service;
 
 import com.axseniors.salesorders.domain.Customer;
+import com.axseniors.salesorders.domain.OrderEventType;
 import com.axseniors.salesorders.domain.Product;
 import com.axseniors.salesorders.domain.SalesOrder;
 import com.axseniors.salesorders.domain.SalesOrderLine;
 import com.axseniors.salesorders.domain.SalesOrderStatus;
 import com.axseniors.salesorders.domain.CancelReason;
+import com.axseniors.salesorders.dto.BulkOrderItemResult;
+import com.axseniors.salesorders.dto.BulkTransitionItemResult;
 import com.axseniors.salesorders.dto.OrderLineRequest;
-import com.axseniors.salesorders.dto.OrderLineResponse;
+import com.axseniors.salesorders.dto.OrderListFilter;
+import com.axseniors.salesorders.dto.OrderPageResponse;
 import com.axseniors.salesorders.dto.OrderResponse;
+import com.axseniors.salesorders.dto.OrderSummaryPageResponse;
+import com.axseniors.salesorders.dto.OrderSummaryResponse;
 import com.axseniors.salesorders.dto.OrderUpsertRequest;
-import com.axseniors.salesorders.repo.CustomerRepo;
-import com.axseniors.salesorders.repo.ProductRepo;
+import com.axseniors.salesorders.outbox.OrderOutbox;
 import com.axseniors.salesorders.repo.SalesOrderRepo;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -20,32 +25,80 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class SalesOrderService {
 
-    private final CustomerRepo customerRepo;
-    private final ProductRepo productRepo;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final String GENERATED_NUMBER_ERROR = "Order numbers in the SO-yyyyMMdd-NNNN format are assigned by the server";
+    private static final Set<SalesOrderStatus> CONFIRMABLE_STATUSES = EnumSet.complementOf(EnumSet.of(SalesOrderStatus.CONFIRMED));
+
     private final SalesOrderRepo salesOrderRepo;
+    private final MasterDataService masterDataService;
+    private final OrderMapper orderMapper;
+    private final OrderPricing orderPricing;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final DailySalesRollupService dailySalesRollupService;
+    private final OrderOutbox orderOutbox;
 
     @Transactional(readOnly = true)
-    public List<OrderResponse> listAll() {
-        return salesOrderRepo.findAll().stream().map(this::toResponse).toList();
+    public OrderPageResponse listOrders(OrderListFilter filter, String cursor, int size) {
+        OrderCursor after = OrderCursor.decode(cursor);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<UUID> ids = salesOrderRepo.findPageIds(filter,
+                after != null ? after.getOrderDate() : null,
+                after != null ? after.getId() : null,
+                pageSize + 1);
+
+        boolean hasMore = ids.size() > pageSize;
+        List<UUID> pageIds = hasMore ? ids.subList(0, pageSize) : ids;
+        List<SalesOrder> orders = pageIds.isEmpty() ? List.of() : salesOrderRepo.findAllWithDetailsByIdIn(pageIds);
+        String nextCursor = hasMore ? OrderCursor.of(orders.get(orders.size() - 1)).encode() : null;
+
+        return OrderPageResponse.builder()
+                .items(orders.stream().map(orderMapper::toResponse).toList())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
     }
 
     @Transactional(readOnly = true)
-    public List<OrderResponse> listActive() {
-        return salesOrderRepo.findAllByStatusNot(SalesOrderStatus.CANCELLED).stream().map(this::toResponse).toList();
+    public OrderSummaryPageResponse listOrderSummaries(OrderListFilter filter, String cursor, int size) {
+        OrderCursor after = OrderCursor.decode(cursor);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<OrderSummaryResponse> summaries = salesOrderRepo.findSummaries(filter,
+                after != null ? after.getOrderDate() : null,
+                after != null ? after.getId() : null,
+                pageSize + 1);
+
+        boolean hasMore = summaries.size() > pageSize;
+        List<OrderSummaryResponse> items = hasMore ? summaries.subList(0, pageSize) : summaries;
+        String nextCursor = null;
+        if (hasMore) {
+            OrderSummaryResponse last = items.get(items.size() - 1);
+            nextCursor = new OrderCursor(last.getOrderDate(), last.getId()).encode();
+        }
+
+        return OrderSummaryPageResponse.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
     }
 
     public OrderResponse createOrder(OrderUpsertRequest request) {
@@ -53,147 +106,332 @@ public class SalesOrderService {
         order.setStatus(SalesOrderStatus.DRAFT);
         populateOrder(order, request);
         SalesOrder saved = salesOrderRepo.save(order);
-        return toResponse(saved);
+        return recordEvent(OrderEventType.ORDER_CREATED, orderMapper.toResponse(saved));
+    }
+
+    /**
+     * Creates a chunk of orders in one transaction. Customers and products for the whole chunk are resolved in
+     * bulk; an order referring to an unknown customer or product is reported in its result and skipped, while
+     * the others are inserted together. Results are returned in request order, indexed from zero.
+     */
+    public List<BulkOrderItemResult> createOrders(List<OrderUpsertRequest> requests) {
+        Map<UUID, Customer> customers = masterDataService.findCustomers(requests.stream()
+                .map(OrderUpsertRequest::getCustomerId)
+                .collect(Collectors.toSet()));
+        Map<UUID, Product> products = masterDataService.findProducts(requests.stream()
+                .flatMap(request -> request.getLines().stream())
+                .map(OrderLineRequest::getProductId)
+                .collect(Collectors.toSet()));
+
+        List<SalesOrder> orders = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        for (OrderUpsertRequest request : requests) {
+            String error = missingReferences(request, customers, products);
+            if (error == null && claimsGeneratedNumber(null, request.getOrderNumber())) {
+                error = GENERATED_NUMBER_ERROR;
+            }
+            errors.add(error);
+            if (error == null) {
+                SalesOrder order = new SalesOrder();
+                order.setStatus(SalesOrderStatus.DRAFT);
+                populateOrder(order, request, customers.get(request.getCustomerId()), products);
+                orders.add(order);
+            }
+        }
+        salesOrderRepo.saveAll(orders);
+        salesOrderRepo.flush();
+        orderOutbox.recordAll(OrderEventType.ORDER_CREATED, orders.stream().map(orderMapper::toResponse).toList());
+
+        List<BulkOrderItemResult> results = new ArrayList<>();
+        Iterator<SalesOrder> created = orders.iterator();
+        for (int i = 0; i < requests.size(); i++) {
+            if (errors.get(i) != null) {
+                results.add(BulkOrderItemResult.builder().index(i).error(errors.get(i)).build());
+            } else {
+                SalesOrder order = created.next();
+                results.add(BulkOrderItemResult.builder().index(i).orderId(order.getId()).orderNumber(order.getOrderNumber()).build());
+            }
+        }
+        return results;
     }
 
     public OrderResponse updateOrder(UUID orderId, OrderUpsertRequest request) {
-        SalesOrder existing = salesOrderRepo.findById(orderId)
+        SalesOrder existing = salesOrderRepo.findForUpdateById(orderId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found"));
         ensureDraft(existing);
         populateOrder(existing, request);
         SalesOrder saved = salesOrderRepo.save(existing);
-        return toResponse(saved);
+        return recordEvent(OrderEventType.ORDER_UPDATED, orderMapper.toResponse(saved));
     }
 
     @Transactional(readOnly = true)
     public OrderResponse getOrder(UUID orderId) {
-        SalesOrder order = salesOrderRepo.findById(orderId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found"));
-        return toResponse(order);
+        return orderMapper.toResponse(loadOrder(orderId));
+    }
+
+    /**
+     * Version of the order without loading it, for conditional requests; empty when the order does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findOrderVersion(UUID orderId) {
+        return salesOrderRepo.findVersionById(orderId);
     }
 
     public OrderResponse confirmOrder(UUID orderId) {
-        SalesOrder order = salesOrderRepo.findById(orderId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found"));
-        ensureDraft(order);
-        order.setStatus(SalesOrderStatus.CONFIRMED);
-        SalesOrder saved = salesOrderRepo.save(order);
-        return toResponse(saved);
+        if (salesOrderRepo.transitionStatus(orderId, CONFIRMABLE_STATUSES, SalesOrderStatus.CONFIRMED) == 0) {
+            SalesOrderStatus current = currentStatus(orderId);
+            ensureDraft(current);
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Order cannot be confirmed");
+        }
+        SalesOrder order = loadOrder(orderId);
+        dailySalesRollupService.add(order);
+        return recordEvent(OrderEventType.ORDER_CONFIRMED, orderMapper.toResponse(order));
     }
 
     public OrderResponse cancelOrder(UUID orderId, com.axseniors.salesorders.dto.CancelOrderRequest request) {
-        SalesOrder order = salesOrderRepo.findById(orderId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found"));
-        if (SalesOrderStatus.CANCELLED.equals(order.getStatus())) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Order already cancelled");
+        // Try the confirmed transition first: only then does the order have sales in the rollup to reverse.
+        if (cancelFrom(orderId, SalesOrderStatus.CONFIRMED, request)) {
+            SalesOrder order = loadOrder(orderId);
+            dailySalesRollupService.reverse(order);
+            return recordEvent(OrderEventType.ORDER_CANCELLED, orderMapper.toResponse(order));
         }
-        if (!SalesOrderStatus.DRAFT.equals(order.getStatus()) && !SalesOrderStatus.CONFIRMED.equals(order.getStatus())) {
+        if (!cancelFrom(orderId, SalesOrderStatus.DRAFT, request)) {
+            if (SalesOrderStatus.CANCELLED.equals(currentStatus(orderId))) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Order already cancelled");
+            }
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Order cannot be cancelled");
         }
-        order.setCancelReason(request.getReason());
-        order.setCancelNote(request.getNote());
-        order.setStatus(SalesOrderStatus.CANCELLED);
-        SalesOrder saved = salesOrderRepo.save(order);
-        return toResponse(saved);
+        return recordEvent(OrderEventType.ORDER_CANCELLED, orderMapper.toResponse(loadOrder(orderId)));
+    }
+
+    /**
+     * Confirms a chunk of orders with one locking read of the headers and one set-based update, applying the
+     * same rules as {@link #confirmOrder}. The rollup is updated from the lines in SQL; the confirmed orders are
+     * then read back once, lines included, so their events carry the same payload as single confirms. Results
+     * follow {@code orderIds}.
+     */
+    public List<BulkTransitionItemResult> confirmOrders(List<UUID> orderIds) {
+        Map<UUID, SalesOrder> orders = lockOrders(orderIds);
+        List<UUID> confirmable = idsWithStatus(orders, CONFIRMABLE_STATUSES);
+        if (!confirmable.isEmpty()) {
+            salesOrderRepo.transitionAllStatus(confirmable, CONFIRMABLE_STATUSES, SalesOrderStatus.CONFIRMED);
+            dailySalesRollupService.addOrders(confirmable);
+            recordEvents(OrderEventType.ORDER_CONFIRMED, confirmable);
+        }
+        return transitionResults(orderIds, orders, confirmable, SalesOrderStatus.CONFIRMED,
+                status -> "Confirmed orders cannot be edited");
+    }
+
+    /**
+     * Bulk counterpart of {@link #cancelOrder}: drafts and confirmed orders are cancelled in one update each,
+     * and only the confirmed ones are reversed in the rollup.
+     */
+    public List<BulkTransitionItemResult> cancelOrders(List<UUID> orderIds, CancelReason reason, String note) {
+        Map<UUID, SalesOrder> orders = lockOrders(orderIds);
+        List<UUID> confirmed = idsWithStatus(orders, EnumSet.of(SalesOrderStatus.CONFIRMED));
+        List<UUID> drafts = idsWithStatus(orders, EnumSet.of(SalesOrderStatus.DRAFT));
+        if (!confirmed.isEmpty()) {
+            salesOrderRepo.transitionAllToCancelled(confirmed, EnumSet.of(SalesOrderStatus.CONFIRMED), SalesOrderStatus.CANCELLED, reason, note);
+            dailySalesRollupService.reverseOrders(confirmed);
+        }
+        if (!drafts.isEmpty()) {
+            salesOrderRepo.transitionAllToCancelled(drafts, EnumSet.of(SalesOrderStatus.DRAFT), SalesOrderStatus.CANCELLED, reason, note);
+        }
+        List<UUID> cancelled = new ArrayList<>(confirmed);
+        cancelled.addAll(drafts);
+        recordEvents(OrderEventType.ORDER_CANCELLED, cancelled);
+        return transitionResults(orderIds, orders, cancelled, SalesOrderStatus.CANCELLED,
+                status -> SalesOrderStatus.CANCELLED.equals(status) ? "Order already cancelled" : "Order cannot be cancelled");
+    }
+
+    /**
+     * Keyset walk over the orders matching {@code filter}, returning only their (orderDate, id) keys.
+     */
+    @Transactional(readOnly = true)
+    public List<OrderCursor> findOrderKeys(OrderListFilter filter, OrderCursor after, int limit) {
+        return salesOrderRepo.findSummaries(filter,
+                        after != null ? after.getOrderDate() : null,
+                        after != null ? after.getId() : null,
+                        limit).stream()
+                .map(summary -> new OrderCursor(summary.getOrderDate(), summary.getId()))
+                .toList();
+    }
+
+    private Map<UUID, SalesOrder> lockOrders(List<UUID> orderIds) {
+        return salesOrderRepo.lockAllByIdIn(orderIds).stream()
+                .collect(Collectors.toMap(SalesOrder::getId, Function.identity(), (a, b) -> a, LinkedHashMap::new));
+    }
+
+    private static List<UUID> idsWithStatus(Map<UUID, SalesOrder> orders, Set<SalesOrderStatus> statuses) {
+        return orders.values().stream()
+                .filter(order -> statuses.contains(order.getStatus()))
+                .map(SalesOrder::getId)
+                .toList();
+    }
+
+    /**
+     * The set-based updates clear the persistence context, so this one query reads the changed orders as
+     * committed, with customer and lines, and the payloads match {@link OrderMapper#toResponse(SalesOrder)}.
+     */
+    private void recordEvents(OrderEventType type, List<UUID> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        orderOutbox.recordAll(type, salesOrderRepo.findAllWithDetailsByIdIn(changed).stream()
+                .map(orderMapper::toResponse)
+                .toList());
+    }
+
+    private static List<BulkTransitionItemResult> transitionResults(List<UUID> orderIds, Map<UUID, SalesOrder> orders,
+                                                                    Collection<UUID> changed, SalesOrderStatus target,
+                                                                    Function<SalesOrderStatus, String> rejection) {
+        Set<UUID> changedIds = new HashSet<>(changed);
+        List<BulkTransitionItemResult> results = new ArrayList<>(orderIds.size());
+        for (UUID id : orderIds) {
+            SalesOrder order = orders.get(id);
+            BulkTransitionItemResult.BulkTransitionItemResultBuilder result = BulkTransitionItemResult.builder().orderId(id);
+            if (order == null) {
+                result.error("Order not found");
+            } else if (changedIds.contains(id)) {
+                result.status(target);
+            } else {
+                result.status(order.getStatus()).error(rejection.apply(order.getStatus()));
+            }
+            results.add(result.build());
+        }
+        return results;
+    }
+
+    private boolean cancelFrom(UUID orderId, SalesOrderStatus from, com.axseniors.salesorders.dto.CancelOrderRequest request) {
+        return salesOrderRepo.transitionToCancelled(orderId, EnumSet.of(from), SalesOrderStatus.CANCELLED,
+                request.getReason(), request.getNote()) > 0;
+    }
+
+    private OrderResponse recordEvent(OrderEventType type, OrderResponse order) {
+        orderOutbox.record(type, order);
+        return order;
+    }
+
+    private SalesOrder loadOrder(UUID orderId) {
+        return salesOrderRepo.findWithDetailsById(orderId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found"));
+    }
+
+    private SalesOrderStatus currentStatus(UUID orderId) {
+        return salesOrderRepo.findStatusById(orderId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found"));
     }
 
     private void populateOrder(SalesOrder order, OrderUpsertRequest request) {
+        Customer customer = masterDataService.findCustomer(request.getCustomerId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Customer not found"));
+        populateOrder(order, request, customer, loadProducts(request.getLines()));
+    }
+
+    private void populateOrder(SalesOrder order, OrderUpsertRequest request, Customer customer, Map<UUID, Product> products) {
         if (StringUtils.hasText(request.getOrderNumber())) {
+            if (claimsGeneratedNumber(order.getOrderNumber(), request.getOrderNumber())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, GENERATED_NUMBER_ERROR);
+            }
             order.setOrderNumber(request.getOrderNumber());
         } else if (!StringUtils.hasText(order.getOrderNumber())) {
-            order.setOrderNumber(generateOrderNumber());
+            order.setOrderNumber(orderNumberGenerator.next());
         }
 
-        Customer customer = customerRepo.findById(request.getCustomerId())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Customer not found"));
         order.setCustomer(customer);
         order.setOrderDate(request.getOrderDate());
         order.setDeliveryDate(request.getDeliveryDate());
 
+        ensureDistinctLineIds(request.getLines());
+        Map<UUID, SalesOrderLine> existingLines = order.getLines().stream()
+                .collect(Collectors.toMap(SalesOrderLine::getId, Function.identity()));
         List<SalesOrderLine> lines = new ArrayList<>();
         for (OrderLineRequest lineRequest : request.getLines()) {
-            lines.add(buildLine(lineRequest));
+            SalesOrderLine line = lineRequest.getLineId() == null
+                    ? new SalesOrderLine()
+                    : claimExistingLine(existingLines, lineRequest.getLineId());
+            applyLine(line, lineRequest, products.get(lineRequest.getProductId()));
+            lines.add(line);
         }
         order.replaceLines(lines);
+        orderPricing.applyTotals(order);
     }
 
-    private SalesOrderLine buildLine(OrderLineRequest lineRequest) {
-        Product product = productRepo.findById(lineRequest.getProductId())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found"));
+    /**
+     * A client may keep an order's current number but not pick a new one in the generator's format, which a
+     * later generated block could also hand out.
+     */
+    private boolean claimsGeneratedNumber(String currentNumber, String requestedNumber) {
+        return StringUtils.hasText(requestedNumber)
+                && !requestedNumber.equals(currentNumber)
+                && orderNumberGenerator.isGeneratorFormat(requestedNumber);
+    }
 
-        SalesOrderLine line = new SalesOrderLine();
-        line.setProduct(product);
-        line.setQuantity(lineRequest.getQuantity());
-        line.setUnitPrice(lineRequest.getUnitPrice());
-        line.setDiscountPct(lineRequest.getDiscountPct());
+    private String missingReferences(OrderUpsertRequest request, Map<UUID, Customer> customers, Map<UUID, Product> products) {
+        if (!customers.containsKey(request.getCustomerId())) {
+            return "Customer not found";
+        }
+        List<String> missing = request.getLines().stream()
+                .map(OrderLineRequest::getProductId)
+                .filter(productId -> !products.containsKey(productId))
+                .distinct()
+                .map(UUID::toString)
+                .toList();
+        return missing.isEmpty() ? null : "Products not found: " + String.join(", ", missing);
+    }
+
+    /**
+     * Each existing line can be kept once; a repeated lineId would otherwise surface as "not found" on its second
+     * occurrence.
+     */
+    private static void ensureDistinctLineIds(List<OrderLineRequest> lineRequests) {
+        Set<UUID> seen = new HashSet<>();
+        for (OrderLineRequest lineRequest : lineRequests) {
+            if (lineRequest.getLineId() != null && !seen.add(lineRequest.getLineId())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Duplicate line id: " + lineRequest.getLineId());
+            }
+        }
+    }
+
+    private SalesOrderLine claimExistingLine(Map<UUID, SalesOrderLine> existingLines, UUID lineId) {
+        SalesOrderLine line = existingLines.remove(lineId);
+        if (line == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Order line not found: " + lineId);
+        }
         return line;
     }
 
-    private OrderResponse toResponse(SalesOrder order) {
-        List<OrderLineResponse> lineResponses = new ArrayList<>();
-        BigDecimal orderTotal = BigDecimal.ZERO;
-        BigDecimal orderSubtotal = BigDecimal.ZERO;
-        BigDecimal orderDiscountTotal = BigDecimal.ZERO;
-
-        for (SalesOrderLine line : order.getLines()) {
-            BigDecimal lineTotal = calculateLineTotal(line);
-            orderTotal = orderTotal.add(lineTotal);
-            BigDecimal lineSubtotal = line.getUnitPrice().multiply(BigDecimal.valueOf(line.getQuantity()));
-            BigDecimal lineDiscount = lineSubtotal.subtract(lineTotal);
-            orderSubtotal = orderSubtotal.add(lineSubtotal);
-            orderDiscountTotal = orderDiscountTotal.add(lineDiscount);
-            lineResponses.add(OrderLineResponse.builder()
-                    .lineId(line.getId())
-                    .productId(line.getProduct().getId())
-                    .productCode(line.getProduct().getCode())
-                    .productName(line.getProduct().getName())
-                    .quantity(line.getQuantity())
-                    .unitPrice(line.getUnitPrice())
-                    .discountPct(line.getDiscountPct())
-                    .lineTotal(lineTotal)
-                    .build());
-        }
-
-        return OrderResponse.builder()
-                .id(order.getId())
-                .orderNumber(order.getOrderNumber())
-                .status(order.getStatus())
-                .cancelReason(order.getCancelReason())
-                .cancelNote(order.getCancelNote())
-                .customerId(order.getCustomer().getId())
-                .customerName(order.getCustomer().getName())
-                .orderDate(order.getOrderDate())
-                .deliveryDate(order.getDeliveryDate())
-                .orderTotal(orderTotal.setScale(2, RoundingMode.HALF_UP))
-                .orderSubtotal(orderSubtotal.setScale(2, RoundingMode.HALF_UP))
-                .orderDiscountTotal(orderDiscountTotal.setScale(2, RoundingMode.HALF_UP))
-                .lines(lineResponses)
-                .build();
+    private Map<UUID, Product> loadProducts(List<OrderLineRequest> lineRequests) {
+        List<UUID> productIds = lineRequests.stream()
+                .map(OrderLineRequest::getProductId)
+                .distinct()
+                .toList();
+
+        Map<UUID, Product> products = masterDataService.findProducts(productIds);
+        List<String> missing = productIds.stream()
+                .filter(productId -> !products.containsKey(productId))
+                .map(UUID::toString)
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Products not found: " + String.join(", ", missing));
+        }
+        return products;
     }
 
-    private BigDecimal calculateLineTotal(SalesOrderLine line) {
-        BigDecimal discountFactor = BigDecimal.ONE.subtract(
-                line.getDiscountPct().divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP));
-        return line.getUnitPrice()
-                .multiply(BigDecimal.valueOf(line.getQuantity()))
-                .multiply(discountFactor)
-                .setScale(2, RoundingMode.HALF_UP);
+    private void applyLine(SalesOrderLine line, OrderLineRequest lineRequest, Product product) {
+        line.setProduct(product);
+        line.setQuantity(lineRequest.getQuantity());
+        line.setUnitPrice(lineRequest.getUnitPrice());
+        line.setDiscountPct(lineRequest.getDiscountPct());
     }
 
     private void ensureDraft(SalesOrder order) {
-        if (SalesOrderStatus.CONFIRMED.equals(order.getStatus())) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Confirmed orders cannot be edited");
-        }
+        ensureDraft(order.getStatus());
     }
 
-    private String generateOrderNumber() {
-        String datePart = LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE);
-        String suffix = String.format("%04d", ThreadLocalRandom.current().nextInt(10_000));
-        String candidate = "SO-" + datePart + "-" + suffix;
-        while (salesOrderRepo.findByOrderNumber(candidate).isPresent()) {
-            suffix = String.format("%04d", ThreadLocalRandom.current().nextInt(10_000));
-            candidate = "SO-" + datePart + "-" + suffix;
+    private void ensureDraft(SalesOrderStatus status) {
+        if (SalesOrderStatus.CONFIRMED.equals(status)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Confirmed orders cannot be edited");
         }
-        return candidate;
     }
 }
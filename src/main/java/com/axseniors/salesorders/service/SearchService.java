@@ -0,0 +1,65 @@
+package com.axseniors.salesorders.service;
+
+import com.axseniors.salesorders.config.DatabaseVendor;
+import com.axseniors.salesorders.domain.SearchResultType;
+import com.axseniors.salesorders.dto.SearchHit;
+import com.axseniors.salesorders.dto.SearchResponse;
+import com.axseniors.salesorders.repo.SearchRepo;
+import com.axseniors.salesorders.search.InMemorySearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Partial-match search over order numbers, customer names and tax IDs, and product codes and names, ranked by
+ * trigram similarity. PostgreSQL answers from the pg_trgm indexes; other databases use
+ * {@link InMemorySearchIndex}. Only the first {@value #MAX_RESULTS} hits can be paged through.
+ */
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+
+    private static final int MIN_TERM_LENGTH = 3;
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int MAX_RESULTS = 1000;
+
+    private final SearchRepo searchRepo;
+    private final InMemorySearchIndex inMemorySearchIndex;
+    private final DatabaseVendor databaseVendor;
+
+    @Transactional(readOnly = true)
+    public SearchResponse search(String query, Collection<SearchResultType> types, int page, int size) {
+        String term = query == null ? "" : query.strip();
+        if (term.length() < MIN_TERM_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Search term must have at least " + MIN_TERM_LENGTH + " characters");
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        int offset = Math.max(page, 0) * pageSize;
+        if (offset + pageSize > MAX_RESULTS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Search results are limited to the first " + MAX_RESULTS + " hits");
+        }
+        Set<SearchResultType> searched = types == null || types.isEmpty()
+                ? EnumSet.allOf(SearchResultType.class)
+                : EnumSet.copyOf(types);
+
+        List<SearchHit> hits = databaseVendor.isPostgres()
+                ? searchRepo.search(term, searched, offset, pageSize + 1)
+                : inMemorySearchIndex.search(term, searched, offset, pageSize + 1);
+        boolean hasMore = hits.size() > pageSize;
+        return SearchResponse.builder()
+                .items(hasMore ? hits.subList(0, pageSize) : hits)
+                .page(offset / pageSize)
+                .size(pageSize)
+                .hasMore(hasMore)
+                .build();
+    }
+}
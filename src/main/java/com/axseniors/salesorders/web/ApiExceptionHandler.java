@@ -0,0 +1,18 @@
+package com.axseniors.salesorders.web;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.io.IOException;
+
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public void handleConcurrentModification(HttpServletResponse response) throws IOException {
+        response.sendError(HttpStatus.CONFLICT.value(), "Order was modified concurrently, retry the request");
+    }
+}
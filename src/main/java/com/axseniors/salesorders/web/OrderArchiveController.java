@@ -0,0 +1,38 @@
+package com.axseniors.salesorders.web;
+
+import com.axseniors.salesorders.dto.OrderResponse;
+import com.axseniors.salesorders.service.OrderArchiveService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@CrossOrigin(origins = "*")
+@RequestMapping("/api/archive")
+@RequiredArgsConstructor
+public class OrderArchiveController {
+
+    private final OrderArchiveService orderArchiveService;
+
+    @GetMapping("/orders/{id}")
+    public OrderResponse getArchivedOrder(@PathVariable UUID id) {
+        return orderArchiveService.getArchivedOrder(id);
+    }
+
+    @GetMapping("/orders")
+    public List<OrderResponse> listArchivedOrders(@RequestParam("customerId") UUID customerId,
+                                                  @RequestParam(value = "fromDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+                                                  @RequestParam(value = "toDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+                                                  @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        return orderArchiveService.listArchivedOrders(customerId, fromDate, toDate, limit);
+    }
+}
@@ -0,0 +1,50 @@
+package com.axseniors.salesorders.web;
+
+import com.axseniors.salesorders.dto.OrderTotalsReport;
+import com.axseniors.salesorders.dto.SalesRollupReport;
+import com.axseniors.salesorders.service.DailySalesRollupService;
+import com.axseniors.salesorders.service.OrderArchiveService;
+import com.axseniors.salesorders.service.OrderTotalsMaintenanceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class OrderMaintenanceController {
+
+    private final OrderTotalsMaintenanceService orderTotalsMaintenanceService;
+    private final DailySalesRollupService dailySalesRollupService;
+    private final OrderArchiveService orderArchiveService;
+
+    @PostMapping("/order-totals/backfill")
+    public Map<String, Integer> backfillOrderTotals() {
+        return Map.of("ordersUpdated", orderTotalsMaintenanceService.backfillMissingTotals());
+    }
+
+    @GetMapping("/order-totals/verify")
+    public OrderTotalsReport verifyOrderTotals() {
+        return orderTotalsMaintenanceService.verifyTotals();
+    }
+
+    @PostMapping("/sales-rollup/rebuild")
+    public Map<String, Integer> rebuildSalesRollup() {
+        return Map.of("rows", dailySalesRollupService.rebuild());
+    }
+
+    @GetMapping("/sales-rollup/verify")
+    public SalesRollupReport verifySalesRollup() {
+        return dailySalesRollupService.verify();
+    }
+
+    @PostMapping("/orders/archive")
+    public Map<String, Integer> archiveOrders() {
+        return Map.of("ordersArchived", orderArchiveService.archive(LocalDate.now()));
+    }
+}
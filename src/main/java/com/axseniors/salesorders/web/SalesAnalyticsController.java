@@ -0,0 +1,87 @@
+package com.axseniors.salesorders.web;
+
+import com.axseniors.salesorders.domain.SalesOrderStatus;
+import com.axseniors.salesorders.dto.AnalyticsFilter;
+import com.axseniors.salesorders.dto.CancellationReport;
+import com.axseniors.salesorders.dto.CustomerRevenue;
+import com.axseniors.salesorders.dto.PeriodRevenue;
+import com.axseniors.salesorders.dto.ProductRevenue;
+import com.axseniors.salesorders.dto.RollupRevenue;
+import com.axseniors.salesorders.service.DailySalesRollupService;
+import com.axseniors.salesorders.service.SalesAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@CrossOrigin(origins = "*")
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class SalesAnalyticsController {
+
+    private final SalesAnalyticsService salesAnalyticsService;
+    private final DailySalesRollupService dailySalesRollupService;
+
+    @GetMapping("/revenue/customers")
+    public List<CustomerRevenue> revenueByCustomer(
+            @RequestParam(value = "fromDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(value = "toDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(value = "status", required = false) SalesOrderStatus status,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return salesAnalyticsService.revenueByCustomer(filter(fromDate, toDate, status), limit);
+    }
+
+    @GetMapping("/revenue/products")
+    public List<ProductRevenue> revenueByProduct(
+            @RequestParam(value = "fromDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(value = "toDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(value = "status", required = false) SalesOrderStatus status,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return salesAnalyticsService.revenueByProduct(filter(fromDate, toDate, status), limit);
+    }
+
+    @GetMapping("/revenue/daily")
+    public List<PeriodRevenue> revenueByDay(
+            @RequestParam(value = "fromDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(value = "toDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(value = "status", required = false) SalesOrderStatus status) {
+        return salesAnalyticsService.revenueByDay(filter(fromDate, toDate, status));
+    }
+
+    @GetMapping("/revenue/monthly")
+    public List<PeriodRevenue> revenueByMonth(
+            @RequestParam(value = "fromDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(value = "toDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(value = "status", required = false) SalesOrderStatus status) {
+        return salesAnalyticsService.revenueByMonth(filter(fromDate, toDate, status));
+    }
+
+    @GetMapping("/dashboard/daily")
+    public List<RollupRevenue> confirmedRevenueByDay(
+            @RequestParam(value = "fromDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(value = "toDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        return dailySalesRollupService.revenueByDay(fromDate, toDate);
+    }
+
+    @GetMapping("/cancellations")
+    public CancellationReport cancellations(
+            @RequestParam(value = "fromDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(value = "toDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        return salesAnalyticsService.cancellations(filter(fromDate, toDate, null));
+    }
+
+    private AnalyticsFilter filter(LocalDate fromDate, LocalDate toDate, SalesOrderStatus status) {
+        return AnalyticsFilter.builder()
+                .fromDate(fromDate)
+                .toDate(toDate)
+                .status(status)
+                .build();
+    }
+}
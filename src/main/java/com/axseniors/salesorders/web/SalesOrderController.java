@@ -1,18 +1,30 @@
 package com.axseniors.salesorders.web;
 
-import com.axseniors.salesorders.domain.Customer;
-import com.axseniors.salesorders.domain.Product;
 import com.axseniors.salesorders.domain.SalesOrderStatus;
+import com.axseniors.salesorders.dto.BulkOrderResponse;
+import com.axseniors.salesorders.dto.BulkTransitionRequest;
+import com.axseniors.salesorders.dto.BulkTransitionResponse;
+import com.axseniors.salesorders.dto.CollectionVersion;
 import com.axseniors.salesorders.dto.CancelOrderRequest;
 import com.axseniors.salesorders.dto.CustomerRequest;
+import com.axseniors.salesorders.dto.CustomerResponse;
+import com.axseniors.salesorders.dto.OrderListFilter;
+import com.axseniors.salesorders.dto.OrderPageResponse;
 import com.axseniors.salesorders.dto.OrderResponse;
+import com.axseniors.salesorders.dto.OrderSummaryPageResponse;
 import com.axseniors.salesorders.dto.OrderUpsertRequest;
-import com.axseniors.salesorders.repo.CustomerRepo;
-import com.axseniors.salesorders.repo.ProductRepo;
+import com.axseniors.salesorders.dto.ProductResponse;
+import com.axseniors.salesorders.service.BulkOrderImportService;
+import com.axseniors.salesorders.service.BulkOrderTransitionService;
+import com.axseniors.salesorders.service.MasterDataService;
+import com.axseniors.salesorders.service.OrderExportService;
 import com.axseniors.salesorders.service.SalesOrderService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -24,9 +36,14 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -35,65 +52,80 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class SalesOrderController {
 
-    private final CustomerRepo customerRepo;
-    private final ProductRepo productRepo;
+    private final MasterDataService masterDataService;
     private final SalesOrderService salesOrderService;
+    private final OrderExportService orderExportService;
+    private final BulkOrderImportService bulkOrderImportService;
+    private final BulkOrderTransitionService bulkOrderTransitionService;
 
     @GetMapping("/customers")
-    public List<Customer> getCustomers() {
-        return customerRepo.findAll();
+    public List<CustomerResponse> getCustomers(WebRequest webRequest) {
+        if (webRequest.checkNotModified(collectionETag("customers", masterDataService.customerListVersion()))) {
+            return null;
+        }
+        return masterDataService.listCustomers();
     }
 
     @PostMapping("/customers")
     @ResponseStatus(HttpStatus.CREATED)
-    public Customer createCustomer(@Valid @RequestBody CustomerRequest request) {
-        Customer customer = new Customer(
-                request.getName(),
-                request.getContactName(),
-                request.getEmail(),
-                request.getPhone(),
-                request.getAddress(),
-                request.getCity(),
-                request.getTaxId()
-        );
-        return customerRepo.save(customer);
-    }
-    
+    public CustomerResponse createCustomer(@Valid @RequestBody CustomerRequest request) {
+        return masterDataService.createCustomer(request);
+    }
+
     @PutMapping("/customers/{id}")
-    public Customer updateCustomer(@PathVariable UUID id, @Valid @RequestBody CustomerRequest request) {
-        Customer existing = customerRepo.findById(id)
-                .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(org.springframework.http.HttpStatus.NOT_FOUND, "Customer not found"));
-        existing.setName(request.getName());
-        existing.setContactName(request.getContactName());
-        existing.setEmail(request.getEmail());
-        existing.setPhone(request.getPhone());
-        existing.setAddress(request.getAddress());
-        existing.setCity(request.getCity());
-        existing.setTaxId(request.getTaxId());
-        return customerRepo.save(existing);
+    public CustomerResponse updateCustomer(@PathVariable UUID id, @Valid @RequestBody CustomerRequest request) {
+        return masterDataService.updateCustomer(id, request);
     }
 
     @DeleteMapping("/customers/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteCustomer(@PathVariable UUID id) {
-        try {
-            customerRepo.deleteById(id);
-        } catch (DataIntegrityViolationException ex) {
-            throw new org.springframework.web.server.ResponseStatusException(org.springframework.http.HttpStatus.CONFLICT, "Customer is used by orders");
-        }
+        masterDataService.deleteCustomer(id);
     }
 
     @GetMapping("/products")
-    public List<Product> getProducts() {
-        return productRepo.findAll();
+    public List<ProductResponse> getProducts(WebRequest webRequest) {
+        if (webRequest.checkNotModified(collectionETag("products", masterDataService.productListVersion()))) {
+            return null;
+        }
+        return masterDataService.listProducts();
     }
 
     @GetMapping("/orders")
-    public List<OrderResponse> listOrders(@RequestParam(value = "includeCancelled", defaultValue = "false") boolean includeCancelled) {
-        if (includeCancelled) {
-            return salesOrderService.listAll();
-        }
-        return salesOrderService.listActive();
+    public OrderPageResponse listOrders(@RequestParam(value = "includeCancelled", defaultValue = "false") boolean includeCancelled,
+                                        @RequestParam(value = "status", required = false) SalesOrderStatus status,
+                                        @RequestParam(value = "customerId", required = false) UUID customerId,
+                                        @RequestParam(value = "fromDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+                                        @RequestParam(value = "toDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+                                        @RequestParam(value = "cursor", required = false) String cursor,
+                                        @RequestParam(value = "size", defaultValue = "50") int size) {
+        OrderListFilter filter = listFilter(includeCancelled, status, customerId, fromDate, toDate);
+        return salesOrderService.listOrders(filter, cursor, size);
+    }
+
+    @GetMapping("/orders/summary")
+    public OrderSummaryPageResponse listOrderSummaries(@RequestParam(value = "includeCancelled", defaultValue = "false") boolean includeCancelled,
+                                                       @RequestParam(value = "status", required = false) SalesOrderStatus status,
+                                                       @RequestParam(value = "customerId", required = false) UUID customerId,
+                                                       @RequestParam(value = "fromDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+                                                       @RequestParam(value = "toDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+                                                       @RequestParam(value = "cursor", required = false) String cursor,
+                                                       @RequestParam(value = "size", defaultValue = "50") int size) {
+        OrderListFilter filter = listFilter(includeCancelled, status, customerId, fromDate, toDate);
+        return salesOrderService.listOrderSummaries(filter, cursor, size);
+    }
+
+    /**
+     * Streams the export from the async executor under its own timeout ({@code sales-orders.export.timeout}),
+     * rather than raising the async timeout of every request to fit it.
+     */
+    @GetMapping(value = "/orders/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public WebAsyncTask<Void> exportOrders(HttpServletResponse response) {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        return new WebAsyncTask<>(orderExportService.getTimeout().toMillis(), () -> {
+            orderExportService.exportNdjson(response.getOutputStream());
+            return null;
+        });
     }
 
     @PostMapping("/orders")
@@ -101,8 +133,27 @@ public class SalesOrderController {
         return salesOrderService.createOrder(request);
     }
 
+    @PostMapping(value = "/orders/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public BulkOrderResponse importOrders(InputStream body) {
+        return bulkOrderImportService.importOrders(body);
+    }
+
+    @PostMapping("/orders/bulk/confirm")
+    public BulkTransitionResponse confirmOrders(@Valid @RequestBody BulkTransitionRequest request) {
+        return bulkOrderTransitionService.confirmOrders(request);
+    }
+
+    @PostMapping("/orders/bulk/cancel")
+    public BulkTransitionResponse cancelOrders(@Valid @RequestBody BulkTransitionRequest request) {
+        return bulkOrderTransitionService.cancelOrders(request);
+    }
+
     @GetMapping("/orders/{id}")
-    public OrderResponse getOrder(@PathVariable UUID id) {
+    public OrderResponse getOrder(@PathVariable UUID id, WebRequest webRequest) {
+        Optional<Long> version = salesOrderService.findOrderVersion(id);
+        if (version.isPresent() && webRequest.checkNotModified("\"" + id + "-" + version.get() + "\"")) {
+            return null;
+        }
         return salesOrderService.getOrder(id);
     }
 
@@ -120,4 +171,21 @@ public class SalesOrderController {
     public OrderResponse cancelOrder(@PathVariable UUID id, @Valid @RequestBody CancelOrderRequest request) {
         return salesOrderService.cancelOrder(id, request);
     }
+
+    private OrderListFilter listFilter(boolean includeCancelled, SalesOrderStatus status, UUID customerId,
+                                       LocalDate fromDate, LocalDate toDate) {
+        return OrderListFilter.builder()
+                .includeCancelled(includeCancelled)
+                .status(status)
+                .customerId(customerId)
+                .fromDate(fromDate)
+                .toDate(toDate)
+                .build();
+    }
+
+    private static String collectionETag(String name, CollectionVersion version) {
+        Instant lastModified = version.getLastModified();
+        String stamp = lastModified == null ? "0" : lastModified.getEpochSecond() + "." + lastModified.getNano();
+        return "\"" + name + "-" + version.getCount() + "-" + version.getVersionSum() + "-" + stamp + "\"";
+    }
 }
@@ -0,0 +1,30 @@
+package com.axseniors.salesorders.web;
+
+import com.axseniors.salesorders.domain.SearchResultType;
+import com.axseniors.salesorders.dto.SearchResponse;
+import com.axseniors.salesorders.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@CrossOrigin(origins = "*")
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchService searchService;
+
+    @GetMapping
+    public SearchResponse search(@RequestParam("q") String query,
+                                 @RequestParam(value = "type", required = false) List<SearchResultType> types,
+                                 @RequestParam(value = "page", defaultValue = "0") int page,
+                                 @RequestParam(value = "size", defaultValue = "20") int size) {
+        return searchService.search(query, types, page, size);
+    }
+}
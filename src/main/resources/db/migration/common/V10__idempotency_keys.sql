@@ -0,0 +1,15 @@
+-- Respuestas guardadas de peticiones de escritura con cabecera Idempotency-Key, para devolverlas en los reintentos
+-- sin volver a ejecutar la petición. Una fila sin status_code es una petición en curso; expires_at marca cuándo se
+-- borra la respuesta, o cuándo se da por abandonada una petición en curso.
+create table idempotency_keys (
+    idempotency_key varchar(255) not null,
+    request_hash varchar(64) not null,
+    status_code integer,
+    content_type varchar(255),
+    response_body text,
+    created_at timestamp with time zone not null,
+    expires_at timestamp with time zone not null,
+    constraint pk_idempotency_keys primary key (idempotency_key)
+);
+
+create index ix_idempotency_keys_expires on idempotency_keys (expires_at);
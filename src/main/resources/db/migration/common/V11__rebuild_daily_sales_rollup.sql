@@ -0,0 +1,24 @@
+-- V4 sembró el rollup con sum(line_total), pero en las órdenes anteriores a los totales persistidos line_total era
+-- null hasta el backfill, así que esas ventas quedaron a 0. Se recalcula todo con el total de línea derivado de
+-- precio, cantidad y descuento cuando falta (mismo redondeo que OrderPricing), incluidas las órdenes archivadas.
+delete from daily_sales_rollup;
+
+insert into daily_sales_rollup (sales_date, customer_id, product_id, quantity, revenue, discount_total, line_count)
+select o.order_date, o.customer_id, l.product_id,
+       sum(l.quantity),
+       coalesce(sum(l.line_total), 0),
+       coalesce(sum(l.unit_price * l.quantity - l.line_total), 0),
+       count(*)
+from (select id, order_date, customer_id, status from sales_orders
+      union all
+      select id, order_date, customer_id, status from sales_orders_archive) o
+join (select order_id, product_id, quantity, unit_price,
+             coalesce(line_total, round(unit_price * quantity * (1 - round(discount_pct / 100, 4)), 2)) as line_total
+      from sales_order_lines
+      union all
+      select order_id, product_id, quantity, unit_price,
+             coalesce(line_total, round(unit_price * quantity * (1 - round(discount_pct / 100, 4)), 2)) as line_total
+      from sales_order_lines_archive) l
+    on l.order_id = o.id
+where o.status = 'CONFIRMED'
+group by o.order_date, o.customer_id, l.product_id;
@@ -0,0 +1,3 @@
+-- Cada reserva lleva un token de su dueño: solo la petición que reservó la clave puede completarla, liberarla o
+-- alargar su expires_at mientras sigue en curso.
+alter table idempotency_keys add column owner_token varchar(36);
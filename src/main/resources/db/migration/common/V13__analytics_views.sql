@@ -0,0 +1,18 @@
+-- Vistas de solo lectura para la analítica: órdenes y líneas activas más las archivadas, para que los informes de
+-- un período no cambien al archivar. Las líneas sin total guardado (anteriores al backfill) lo derivan como en
+-- OrderPricing. En PostgreSQL los filtros por order_date se aplican dentro de cada rama y de cada partición.
+create view analytics_orders as
+select id, customer_id, order_date, status, cancel_reason, order_total, order_discount_total
+from sales_orders
+union all
+select id, customer_id, order_date, status, cancel_reason, order_total, order_discount_total
+from sales_orders_archive;
+
+create view analytics_order_lines as
+select id, order_id, product_id, quantity, unit_price,
+       coalesce(line_total, round(unit_price * quantity * (1 - round(discount_pct / 100, 4)), 2)) as line_total
+from sales_order_lines
+union all
+select id, order_id, product_id, quantity, unit_price,
+       coalesce(line_total, round(unit_price * quantity * (1 - round(discount_pct / 100, 4)), 2)) as line_total
+from sales_order_lines_archive;
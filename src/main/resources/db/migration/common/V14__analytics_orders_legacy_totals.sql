@@ -0,0 +1,28 @@
+-- Las órdenes anteriores a los totales persistidos tienen order_total y order_discount_total nulos hasta el backfill,
+-- y sum() las descartaba de los ingresos. La vista los deriva ahora de sus líneas, como analytics_order_lines.
+drop view analytics_orders;
+
+create view analytics_orders as
+select o.id, o.customer_id, o.order_date, o.status, o.cancel_reason,
+       cast(coalesce(o.order_total,
+               (select coalesce(sum(coalesce(l.line_total,
+                           round(l.unit_price * l.quantity * (1 - round(l.discount_pct / 100, 4)), 2))), 0)
+                from sales_order_lines l where l.order_id = o.id)) as numeric(19, 2)) as order_total,
+       cast(coalesce(o.order_discount_total,
+               (select coalesce(sum(l.unit_price * l.quantity - coalesce(l.line_total,
+                           round(l.unit_price * l.quantity * (1 - round(l.discount_pct / 100, 4)), 2))), 0)
+                from sales_order_lines l where l.order_id = o.id)) as numeric(19, 2)) as order_discount_total
+from sales_orders o
+union all
+select o.id, o.customer_id, o.order_date, o.status, o.cancel_reason,
+       cast(coalesce(o.order_total,
+               (select coalesce(sum(coalesce(l.line_total,
+                           round(l.unit_price * l.quantity * (1 - round(l.discount_pct / 100, 4)), 2))), 0)
+                from sales_order_lines_archive l
+                where l.order_id = o.id and l.order_date = o.order_date)) as numeric(19, 2)) as order_total,
+       cast(coalesce(o.order_discount_total,
+               (select coalesce(sum(l.unit_price * l.quantity - coalesce(l.line_total,
+                           round(l.unit_price * l.quantity * (1 - round(l.discount_pct / 100, 4)), 2))), 0)
+                from sales_order_lines_archive l
+                where l.order_id = o.id and l.order_date = o.order_date)) as numeric(19, 2)) as order_discount_total
+from sales_orders_archive o;
@@ -0,0 +1,6 @@
+-- Totales persistidos al escribir la orden. Quedan nulos en las órdenes anteriores hasta que los calcula el backfill.
+alter table sales_orders add column order_total numeric(19, 2);
+alter table sales_orders add column order_subtotal numeric(19, 2);
+alter table sales_orders add column order_discount_total numeric(19, 2);
+
+alter table sales_order_lines add column line_total numeric(19, 2);
@@ -0,0 +1,6 @@
+-- Contador de números de orden por día; OrderNumberGenerator reserva bloques bloqueando la fila del día.
+create table order_number_counters (
+    counter_date date not null,
+    next_value bigint not null,
+    constraint pk_order_number_counters primary key (counter_date)
+);
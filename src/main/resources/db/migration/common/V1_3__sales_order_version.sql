@@ -0,0 +1,2 @@
+-- Versión de la orden para el bloqueo optimista y las transiciones de estado condicionales.
+alter table sales_orders add column version bigint default 0 not null;
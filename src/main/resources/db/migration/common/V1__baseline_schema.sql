@@ -0,0 +1,54 @@
+-- Esquema inicial: equivalente a lo que generaba spring.jpa.hibernate.ddl-auto=update antes de Flyway.
+-- Las bases existentes creadas por Hibernate se marcan como versión 1 (baseline-on-migrate) y no lo ejecutan,
+-- así que aquí no se añade nada posterior: cada columna o tabla nueva va en su propia migración (V1_1 en adelante).
+
+create table customers (
+    id uuid not null,
+    name varchar(255) not null,
+    contact_name varchar(255) not null,
+    email varchar(255) not null,
+    phone varchar(255) not null,
+    address varchar(255),
+    city varchar(255),
+    tax_id varchar(255),
+    constraint pk_customers primary key (id),
+    constraint uk_customers_tax_id unique (tax_id)
+);
+
+create table products (
+    id uuid not null,
+    code varchar(255) not null,
+    name varchar(255) not null,
+    base_price numeric(38, 2) not null,
+    constraint pk_products primary key (id),
+    constraint uk_products_code unique (code)
+);
+
+create table sales_orders (
+    id uuid not null,
+    order_number varchar(255) not null,
+    customer_id uuid not null,
+    order_date date not null,
+    delivery_date date,
+    status varchar(255) not null,
+    cancel_reason varchar(255),
+    cancel_note varchar(255),
+    constraint pk_sales_orders primary key (id),
+    constraint uk_sales_orders_order_number unique (order_number),
+    constraint fk_sales_orders_customer foreign key (customer_id) references customers (id),
+    constraint ck_sales_orders_status check (status in ('DRAFT', 'CONFIRMED', 'CANCELLED')),
+    constraint ck_sales_orders_cancel_reason
+        check (cancel_reason in ('CUSTOMER_REQUEST', 'STOCK_ISSUE', 'PRICING_ERROR', 'DUPLICATE', 'OTHER'))
+);
+
+create table sales_order_lines (
+    id uuid not null,
+    order_id uuid not null,
+    product_id uuid not null,
+    quantity integer not null,
+    unit_price numeric(38, 2) not null,
+    discount_pct numeric(38, 2) not null,
+    constraint pk_sales_order_lines primary key (id),
+    constraint fk_sales_order_lines_order foreign key (order_id) references sales_orders (id),
+    constraint fk_sales_order_lines_product foreign key (product_id) references products (id)
+);
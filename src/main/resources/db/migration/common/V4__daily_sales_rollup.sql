@@ -0,0 +1,22 @@
+-- Ventas confirmadas por día, cliente y producto; la mantiene SalesOrderService al confirmar y cancelar órdenes.
+create table daily_sales_rollup (
+    sales_date date not null,
+    customer_id uuid not null,
+    product_id uuid not null,
+    quantity bigint not null,
+    revenue numeric(19, 2) not null,
+    discount_total numeric(19, 2) not null,
+    line_count bigint not null,
+    constraint pk_daily_sales_rollup primary key (sales_date, customer_id, product_id)
+);
+
+insert into daily_sales_rollup (sales_date, customer_id, product_id, quantity, revenue, discount_total, line_count)
+select o.order_date, o.customer_id, l.product_id,
+       sum(l.quantity),
+       coalesce(sum(l.line_total), 0),
+       coalesce(sum(l.unit_price * l.quantity - l.line_total), 0),
+       count(*)
+from sales_orders o
+join sales_order_lines l on l.order_id = o.id
+where o.status = 'CONFIRMED'
+group by o.order_date, o.customer_id, l.product_id;
@@ -0,0 +1,13 @@
+-- Eventos de órdenes pendientes de publicar (patrón outbox); los escribe la misma transacción que cambia la orden.
+create table order_outbox (
+    id bigint generated by default as identity,
+    aggregate_id uuid not null,
+    event_type varchar(40) not null,
+    payload text not null,
+    created_at timestamp not null,
+    attempts integer default 0 not null,
+    next_attempt_at timestamp not null,
+    published_at timestamp,
+    last_error varchar(1000),
+    constraint pk_order_outbox primary key (id)
+);
@@ -0,0 +1,6 @@
+-- Versión y fecha de última modificación de clientes y productos, para ETags y bloqueo optimista.
+alter table customers add column version bigint default 0 not null;
+alter table customers add column updated_at timestamp with time zone default current_timestamp not null;
+
+alter table products add column version bigint default 0 not null;
+alter table products add column updated_at timestamp with time zone default current_timestamp not null;
@@ -0,0 +1,9 @@
+-- Índices para las consultas de los repositorios (pruebas y desarrollo local con H2).
+-- H2 no admite índices parciales: el listado de órdenes activas usa el índice por estado y fecha.
+
+create index if not exists ix_sales_order_lines_order on sales_order_lines (order_id);
+create index if not exists ix_sales_order_lines_product on sales_order_lines (product_id);
+
+create index if not exists ix_sales_orders_status_date on sales_orders (status, order_date, id);
+create index if not exists ix_sales_orders_date on sales_orders (order_date, id);
+create index if not exists ix_sales_orders_customer_date on sales_orders (customer_id, order_date, id);
@@ -0,0 +1,2 @@
+-- Índice para /api/analytics (H2 no admite columnas INCLUDE).
+create index if not exists ix_sales_orders_analytics on sales_orders (order_date, status, customer_id);
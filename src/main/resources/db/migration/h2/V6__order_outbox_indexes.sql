@@ -0,0 +1,2 @@
+create index if not exists ix_order_outbox_pending_aggregate on order_outbox (aggregate_id, published_at, id);
+create index if not exists ix_order_outbox_published on order_outbox (published_at);
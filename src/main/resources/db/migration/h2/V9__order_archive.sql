@@ -0,0 +1,34 @@
+-- Archivo de órdenes canceladas y antiguas (pruebas y desarrollo local con H2). H2 no tiene particionado
+-- declarativo: mismas columnas que en PostgreSQL, en tablas normales.
+create table sales_orders_archive (
+    id uuid not null,
+    version bigint not null,
+    order_number varchar(255) not null,
+    customer_id uuid not null,
+    order_date date not null,
+    delivery_date date,
+    status varchar(255) not null,
+    cancel_reason varchar(255),
+    cancel_note varchar(255),
+    order_total numeric(19, 2),
+    order_subtotal numeric(19, 2),
+    order_discount_total numeric(19, 2),
+    archived_at timestamp with time zone not null,
+    constraint pk_sales_orders_archive primary key (id, order_date)
+);
+
+create table sales_order_lines_archive (
+    id uuid not null,
+    order_id uuid not null,
+    order_date date not null,
+    product_id uuid not null,
+    quantity integer not null,
+    unit_price numeric(38, 2) not null,
+    discount_pct numeric(38, 2) not null,
+    line_total numeric(19, 2),
+    constraint pk_sales_order_lines_archive primary key (id, order_date)
+);
+
+create index if not exists ix_sales_orders_archive_id on sales_orders_archive (id);
+create index if not exists ix_sales_orders_archive_customer_date on sales_orders_archive (customer_id, order_date, id);
+create index if not exists ix_sales_order_lines_archive_order on sales_order_lines_archive (order_id, order_date);
@@ -0,0 +1,23 @@
+-- Índices para las consultas de los repositorios. PostgreSQL no indexa las claves foráneas por sí solo.
+
+-- Líneas de una orden (fetch join de detalle, exportación) y uso de un producto
+create index if not exists ix_sales_order_lines_order on sales_order_lines (order_id);
+create index if not exists ix_sales_order_lines_product on sales_order_lines (product_id);
+
+-- Listado por defecto (GET /api/orders, /orders/summary): órdenes no canceladas en orden (order_date, id)
+create index if not exists ix_sales_orders_active_date
+    on sales_orders (order_date, id)
+    where status <> 'CANCELLED';
+
+-- Listado con filtro de estado explícito o includeCancelled, y exportación completa
+create index if not exists ix_sales_orders_status_date on sales_orders (status, order_date, id);
+create index if not exists ix_sales_orders_date on sales_orders (order_date, id);
+
+-- Órdenes de un cliente por fecha; también cubre la clave foránea customer_id
+create index if not exists ix_sales_orders_customer_date on sales_orders (customer_id, order_date, id);
+
+-- Prefijo SO-yyyyMMdd- del generador de números (like 'prefijo%' con cualquier collation)
+create index if not exists ix_sales_orders_order_number_prefix on sales_orders (order_number text_pattern_ops);
+
+-- Órdenes sin totales guardados, pendientes del backfill
+create index if not exists ix_sales_orders_missing_totals on sales_orders (id) where order_total is null;
@@ -0,0 +1,9 @@
+-- Índices de cobertura para /api/analytics: las agregaciones por rango de fechas se resuelven con index-only scans
+-- sin leer las filas de sales_orders ni de sales_order_lines.
+create index if not exists ix_sales_orders_analytics
+    on sales_orders (order_date, status)
+    include (customer_id, cancel_reason, order_total, order_discount_total);
+
+create index if not exists ix_sales_order_lines_analytics
+    on sales_order_lines (order_id)
+    include (product_id, quantity, unit_price, line_total);
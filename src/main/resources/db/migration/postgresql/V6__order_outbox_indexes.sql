@@ -0,0 +1,4 @@
+-- Solo los eventos pendientes: el relay busca los vencidos y comprueba el anterior pendiente de cada orden.
+create index if not exists ix_order_outbox_pending on order_outbox (id) where published_at is null;
+create index if not exists ix_order_outbox_pending_aggregate on order_outbox (aggregate_id, id) where published_at is null;
+create index if not exists ix_order_outbox_published on order_outbox (published_at) where published_at is not null;
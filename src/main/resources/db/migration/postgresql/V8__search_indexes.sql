@@ -0,0 +1,11 @@
+-- Búsqueda parcial (/api/search) con pg_trgm. En sales_orders un índice GiST, que devuelve las N órdenes más
+-- parecidas recorriendo el índice por distancia (order by <->) sin ordenar todas las coincidencias; en clientes y
+-- productos, tablas mucho más pequeñas, índices GIN para el filtro ilike '%...%'.
+-- En H2 no hay índices equivalentes: la búsqueda usa un índice en memoria (InMemorySearchIndex).
+create extension if not exists pg_trgm;
+
+create index if not exists ix_sales_orders_order_number_trgm on sales_orders using gist (order_number gist_trgm_ops);
+create index if not exists ix_customers_name_trgm on customers using gin (name gin_trgm_ops);
+create index if not exists ix_customers_tax_id_trgm on customers using gin (tax_id gin_trgm_ops);
+create index if not exists ix_products_code_trgm on products using gin (code gin_trgm_ops);
+create index if not exists ix_products_name_trgm on products using gin (name gin_trgm_ops);
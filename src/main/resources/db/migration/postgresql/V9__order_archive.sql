@@ -0,0 +1,41 @@
+-- Archivo de órdenes canceladas y antiguas, fuera de las tablas activas para que las consultas habituales no
+-- recorran años de historia. Particionado por rango de order_date: el job de archivado crea una partición por año
+-- antes de mover órdenes de ese año; la partición default solo recoge lo que quede fuera de ellas.
+-- Las líneas llevan order_date para particionarse igual que su orden.
+create table sales_orders_archive (
+    id uuid not null,
+    version bigint not null,
+    order_number varchar(255) not null,
+    customer_id uuid not null,
+    order_date date not null,
+    delivery_date date,
+    status varchar(255) not null,
+    cancel_reason varchar(255),
+    cancel_note varchar(255),
+    order_total numeric(19, 2),
+    order_subtotal numeric(19, 2),
+    order_discount_total numeric(19, 2),
+    archived_at timestamp with time zone not null,
+    constraint pk_sales_orders_archive primary key (id, order_date)
+) partition by range (order_date);
+
+create table sales_orders_archive_default partition of sales_orders_archive default;
+
+create table sales_order_lines_archive (
+    id uuid not null,
+    order_id uuid not null,
+    order_date date not null,
+    product_id uuid not null,
+    quantity integer not null,
+    unit_price numeric(38, 2) not null,
+    discount_pct numeric(38, 2) not null,
+    line_total numeric(19, 2),
+    constraint pk_sales_order_lines_archive primary key (id, order_date)
+) partition by range (order_date);
+
+create table sales_order_lines_archive_default partition of sales_order_lines_archive default;
+
+-- Consulta bajo demanda (/api/archive/orders): por id, por cliente y fecha, y las líneas de cada orden
+create index if not exists ix_sales_orders_archive_id on sales_orders_archive (id);
+create index if not exists ix_sales_orders_archive_customer_date on sales_orders_archive (customer_id, order_date, id);
+create index if not exists ix_sales_order_lines_archive_order on sales_order_lines_archive (order_id, order_date);
@@ -0,0 +1,57 @@
+package com.axseniors.salesorders;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application with Hibernate validating the entities against the schema built by the migrations,
+ * as production does; the context fails to load on any missing table or column or mismatched type.
+ */
+@SpringBootTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@ActiveProfiles("test")
+class SchemaValidationTests {
+
+    private static final String COLUMNS = "select table_name, column_name, data_type from information_schema.columns "
+            + "where table_schema = 'public' order by table_name, column_name";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void entitiesMatchTheMigratedSchema() {
+    }
+
+    @Test
+    void databasesBaselinedAtVersionOneEndWithTheSameSchema() {
+        DriverManagerDataSource baselined = new DriverManagerDataSource(
+                "jdbc:h2:mem:baselined;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                "sa", "");
+        // A database created by ddl-auto=update before Flyway: the V1 tables, without Flyway's history.
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/common/V1__baseline_schema.sql"))
+                .execute(baselined);
+
+        Flyway.configure()
+                .dataSource(baselined)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        List<Map<String, Object>> migrated = new JdbcTemplate(dataSource).queryForList(COLUMNS);
+        assertThat(new JdbcTemplate(baselined).queryForList(COLUMNS)).isEqualTo(migrated);
+    }
+}
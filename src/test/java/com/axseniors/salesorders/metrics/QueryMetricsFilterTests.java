@@ -0,0 +1,97 @@
+package com.axseniors.salesorders.metrics;
+
+import com.axseniors.salesorders.dto.CustomerRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryMetricsFilterTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void recordsStatementsPerEndpoint() throws Exception {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        mockMvc.perform(get("/api/products")).andExpect(status().isOk());
+
+        DistributionSummary statements = statements("GET", "/api/products");
+        assertThat(statements).isNotNull();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isGreaterThanOrEqualTo(1);
+        assertThat(RequestQueryStats.current()).isNull();
+    }
+
+    @Test
+    void idempotencyFilterStatementsCountTowardsTheRequest() throws Exception {
+        double withoutKey = statementsOf(createCustomer());
+        double withKey = statementsOf(createCustomer().header("Idempotency-Key", UUID.randomUUID().toString()));
+
+        // The key is reserved before the controller runs and the response stored after it.
+        assertThat(withKey).isGreaterThanOrEqualTo(withoutKey + 2);
+    }
+
+    @Test
+    void requestsRejectedBeforeAnyHandlerAreTaggedUnknown() throws Exception {
+        DistributionSummary before = statements("POST", "UNKNOWN");
+        long count = before == null ? 0 : before.count();
+
+        mockMvc.perform(createCustomer().header("Idempotency-Key", "k".repeat(256)))
+                .andExpect(status().isBadRequest());
+
+        assertThat(statements("POST", "UNKNOWN").count()).isEqualTo(count + 1);
+        assertThat(meterRegistry.find("sales_orders.request.queries").tag("uri", "null").summary()).isNull();
+    }
+
+    private double statementsOf(MockHttpServletRequestBuilder request) throws Exception {
+        DistributionSummary before = statements("POST", "/api/customers");
+        double total = before == null ? 0 : before.totalAmount();
+        mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+        return statements("POST", "/api/customers").totalAmount() - total;
+    }
+
+    private DistributionSummary statements(String method, String uri) {
+        return meterRegistry.find("sales_orders.request.queries").tags("method", method, "uri", uri).summary();
+    }
+
+    private MockHttpServletRequestBuilder createCustomer() throws Exception {
+        CustomerRequest customer = new CustomerRequest();
+        customer.setName("Metrics");
+        customer.setContactName("Contact");
+        customer.setEmail("metrics@example.com");
+        customer.setPhone("600 000 000");
+        customer.setTaxId("METRICS-" + UUID.randomUUID());
+        return post("/api/customers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(customer));
+    }
+}
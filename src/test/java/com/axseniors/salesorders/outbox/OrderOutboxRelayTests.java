@@ -0,0 +1,172 @@
+package com.axseniors.salesorders.outbox;
+
+import com.axseniors.salesorders.domain.CancelReason;
+import com.axseniors.salesorders.domain.OrderEventType;
+import com.axseniors.salesorders.dto.CancelOrderRequest;
+import com.axseniors.salesorders.dto.OrderEvent;
+import com.axseniors.salesorders.dto.OrderLineRequest;
+import com.axseniors.salesorders.dto.OrderResponse;
+import com.axseniors.salesorders.dto.OrderUpsertRequest;
+import com.axseniors.salesorders.repo.CustomerRepo;
+import com.axseniors.salesorders.repo.ProductRepo;
+import com.axseniors.salesorders.service.SalesOrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "sales-orders.outbox.relay-enabled=true",
+        "sales-orders.outbox.poll-interval-ms=3600000",
+        "sales-orders.outbox.initial-backoff=0s"
+})
+@ActiveProfiles("test")
+class OrderOutboxRelayTests {
+
+    @Autowired
+    private OrderOutboxRelay orderOutboxRelay;
+
+    @Autowired
+    private RecordingSink recordingSink;
+
+    @Autowired
+    private SalesOrderService salesOrderService;
+
+    @Autowired
+    private CustomerRepo customerRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Test
+    void deliversEveryChangeOncePublishedInOrderAfterFailures() {
+        OrderResponse order = salesOrderService.createOrder(orderRequest());
+        salesOrderService.confirmOrder(order.getId());
+        CancelOrderRequest cancel = new CancelOrderRequest();
+        cancel.setReason(CancelReason.STOCK_ISSUE);
+        salesOrderService.cancelOrder(order.getId(), cancel);
+
+        recordingSink.failNext(1);
+        assertThat(orderOutboxRelay.publishBatch()).isZero();
+        drain();
+        drain();
+
+        assertThat(recordingSink.eventsFor(order.getId())).extracting(OrderEvent::getType).containsExactly(
+                OrderEventType.ORDER_CREATED, OrderEventType.ORDER_CONFIRMED, OrderEventType.ORDER_CANCELLED);
+        assertThat(recordingSink.eventsFor(order.getId()).get(2).getPayload()).contains("\"status\":\"CANCELLED\"");
+    }
+
+    @Test
+    void oneRelayPassDeliversEveryEventEvenWhenBatchesComeBackShort() {
+        drain();
+        OrderResponse order = salesOrderService.createOrder(orderRequest());
+        salesOrderService.confirmOrder(order.getId());
+        CancelOrderRequest cancel = new CancelOrderRequest();
+        cancel.setReason(CancelReason.CUSTOMER_REQUEST);
+        salesOrderService.cancelOrder(order.getId(), cancel);
+
+        // Each batch only holds the head event of the order, so the pass has to go on past short batches.
+        orderOutboxRelay.relay();
+
+        assertThat(recordingSink.eventsFor(order.getId())).hasSize(3);
+    }
+
+    @Test
+    void publishesWithoutATransactionWhileTheBatchStaysClaimed() {
+        drain();
+        OrderResponse order = salesOrderService.createOrder(orderRequest());
+        AtomicBoolean transactionActive = new AtomicBoolean(true);
+        AtomicInteger publishedMeanwhile = new AtomicInteger(-1);
+        recordingSink.duringNextPublish(() -> {
+            transactionActive.set(TransactionSynchronizationManager.isActualTransactionActive());
+            publishedMeanwhile.set(orderOutboxRelay.publishBatch());
+        });
+
+        assertThat(orderOutboxRelay.publishBatch()).isEqualTo(1);
+
+        assertThat(transactionActive).isFalse();
+        assertThat(publishedMeanwhile).hasValue(0);
+        assertThat(recordingSink.eventsFor(order.getId())).hasSize(1);
+        assertThat(orderOutboxRelay.publishBatch()).isZero();
+    }
+
+    private void drain() {
+        while (orderOutboxRelay.publishBatch() > 0) {
+            // keep publishing until nothing is due
+        }
+    }
+
+    private OrderUpsertRequest orderRequest() {
+        OrderLineRequest line = new OrderLineRequest();
+        line.setProductId(productRepo.findAll().get(0).getId());
+        line.setQuantity(1);
+        line.setUnitPrice(new BigDecimal("10.00"));
+
+        List<OrderLineRequest> lines = new ArrayList<>();
+        lines.add(line);
+
+        OrderUpsertRequest request = new OrderUpsertRequest();
+        request.setCustomerId(customerRepo.findAll().get(0).getId());
+        request.setOrderDate(LocalDate.now());
+        request.setLines(lines);
+        return request;
+    }
+
+    @TestConfiguration
+    static class SinkConfig {
+
+        @Bean
+        @Primary
+        RecordingSink recordingSink() {
+            return new RecordingSink();
+        }
+    }
+
+    static class RecordingSink implements OrderEventSink {
+
+        private final List<OrderEvent> delivered = new CopyOnWriteArrayList<>();
+        private final AtomicInteger failuresLeft = new AtomicInteger();
+        private final AtomicReference<Runnable> duringPublish = new AtomicReference<>();
+
+        void failNext(int calls) {
+            failuresLeft.set(calls);
+        }
+
+        void duringNextPublish(Runnable action) {
+            duringPublish.set(action);
+        }
+
+        List<OrderEvent> eventsFor(UUID orderId) {
+            return delivered.stream().filter(event -> event.getOrderId().equals(orderId)).toList();
+        }
+
+        @Override
+        public void publish(List<OrderEvent> events) throws IOException {
+            Runnable action = duringPublish.getAndSet(null);
+            if (action != null) {
+                action.run();
+            }
+            if (failuresLeft.getAndDecrement() > 0) {
+                throw new IOException("sink unavailable");
+            }
+            delivered.addAll(events);
+        }
+    }
+}
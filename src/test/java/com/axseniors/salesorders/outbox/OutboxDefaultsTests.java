@@ -0,0 +1,32 @@
+package com.axseniors.salesorders.outbox;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application with the shipped outbox configuration: no test profile and no outbox properties, only
+ * an H2 database in place of {@code DATABASE_URL}. The relay is on by default and must find a sink.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox-defaults;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver"
+})
+class OutboxDefaultsTests {
+
+    @Autowired
+    private OrderOutboxRelay orderOutboxRelay;
+
+    @Autowired
+    private OrderEventSink orderEventSink;
+
+    @Test
+    void relayStartsWithTheFileSinkByDefault() {
+        assertThat(orderOutboxRelay).isNotNull();
+        assertThat(orderEventSink).isInstanceOf(FileOrderEventSink.class);
+    }
+}
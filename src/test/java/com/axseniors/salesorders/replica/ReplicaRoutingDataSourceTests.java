@@ -0,0 +1,197 @@
+package com.axseniors.salesorders.replica;
+
+import com.axseniors.salesorders.dto.OrderLineRequest;
+import com.axseniors.salesorders.dto.OrderResponse;
+import com.axseniors.salesorders.dto.OrderUpsertRequest;
+import com.axseniors.salesorders.service.SalesOrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A second in-memory H2 database stands in for the replica. It gets the schema from the same migrations but none
+ * of the data written through the application, so a read that finds an order just created must have gone to
+ * the primary. Its replication lag is whatever the {@code replica_lag} table says.
+ */
+@SpringBootTest(properties = {
+        "sales-orders.replicas.enabled=true",
+        "sales-orders.replicas.urls=" + ReplicaRoutingDataSourceTests.REPLICA_URL,
+        "sales-orders.replicas.lag-query=select lag_seconds from replica_lag",
+        "sales-orders.replicas.max-lag=5s"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReplicaRoutingDataSourceTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:sales-orders-replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+            + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+    private static final JdbcTemplate REPLICA = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaPools replicaPools;
+
+    @Autowired
+    private SalesOrderService salesOrderService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor taskExecutor;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "")
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load()
+                .migrate();
+        REPLICA.execute("create table if not exists replica_lag (lag_seconds double precision not null)");
+        REPLICA.update("delete from replica_lag");
+        REPLICA.update("insert into replica_lag (lag_seconds) values (0)");
+    }
+
+    @AfterEach
+    void restore() {
+        ReadYourWrites.clear();
+        REPLICA.update("update replica_lag set lag_seconds = 0");
+        replicaPools.checkReplicas();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        assertThat(connectionUrl(true)).contains("sales-orders-replica");
+        assertThat(connectionUrl(false)).doesNotContain("sales-orders-replica");
+    }
+
+    @Test
+    void readsStayOnThePrimaryAfterAWrite() {
+        ReadYourWrites.requirePrimary(true);
+
+        assertThat(connectionUrl(true)).doesNotContain("sales-orders-replica");
+    }
+
+    @Test
+    void failsOverToThePrimaryWhenNoReplicaIsHealthy() {
+        replicaPools.markUnhealthy("replica-0", new IllegalStateException("down"));
+
+        assertThat(connectionUrl(true)).doesNotContain("sales-orders-replica");
+    }
+
+    @Test
+    void replicaLaggingBehindIsTakenOutUntilItCatchesUp() {
+        REPLICA.update("update replica_lag set lag_seconds = 60");
+        replicaPools.checkReplicas();
+        assertThat(connectionUrl(true)).doesNotContain("sales-orders-replica");
+
+        REPLICA.update("update replica_lag set lag_seconds = 1");
+        replicaPools.checkReplicas();
+        assertThat(connectionUrl(true)).contains("sales-orders-replica");
+    }
+
+    @Test
+    void getOrderReadsTheReplicaUnlessThePrimaryIsRequired() {
+        OrderResponse order = salesOrderService.createOrder(orderRequest());
+
+        assertThatThrownBy(() -> salesOrderService.getOrder(order.getId()))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+
+        ReadYourWrites.requirePrimary(true);
+        assertThat(salesOrderService.getOrder(order.getId()).getId()).isEqualTo(order.getId());
+    }
+
+    @Test
+    void clientReadsItsOwnWriteWhileTheCookieIsValid() throws Exception {
+        MockHttpServletResponse created = mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderRequest())))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        Cookie cookie = created.getCookie(ReadYourWritesFilter.COOKIE);
+        assertThat(cookie).isNotNull();
+        String url = "/api/orders/" + objectMapper.readTree(created.getContentAsString()).get("id").asText();
+
+        mockMvc.perform(get(url).cookie(cookie)).andExpect(status().isOk());
+        mockMvc.perform(get(url)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void asyncTasksKeepTheFlagOfTheThreadThatSubmittedThem() throws Exception {
+        ReadYourWrites.requirePrimary(true);
+        Future<String> sticky = taskExecutor.submit(() -> connectionUrl(true));
+        ReadYourWrites.clear();
+        Future<String> free = taskExecutor.submit(() -> connectionUrl(true));
+
+        assertThat(sticky.get(10, TimeUnit.SECONDS)).doesNotContain("sales-orders-replica");
+        assertThat(free.get(10, TimeUnit.SECONDS)).contains("sales-orders-replica");
+    }
+
+    private String connectionUrl(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getURL()));
+    }
+
+    // Plain JdbcTemplate reads run outside a transaction, so they see the primary's master data.
+    private OrderUpsertRequest orderRequest() {
+        OrderLineRequest line = new OrderLineRequest();
+        line.setProductId(jdbcTemplate.queryForObject("select id from products order by code limit 1", UUID.class));
+        line.setQuantity(1);
+        line.setUnitPrice(new BigDecimal("10.00"));
+
+        List<OrderLineRequest> lines = new ArrayList<>();
+        lines.add(line);
+
+        OrderUpsertRequest request = new OrderUpsertRequest();
+        request.setCustomerId(jdbcTemplate.queryForObject("select id from customers order by name limit 1", UUID.class));
+        request.setOrderDate(LocalDate.now());
+        request.setLines(lines);
+        return request;
+    }
+}
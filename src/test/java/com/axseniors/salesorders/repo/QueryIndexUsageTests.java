@@ -0,0 +1,161 @@
+package com.axseniors.salesorders.repo;
+
+import com.axseniors.salesorders.domain.Customer;
+import com.axseniors.salesorders.domain.Product;
+import com.axseniors.salesorders.domain.SalesOrder;
+import com.axseniors.salesorders.domain.SalesOrderLine;
+import com.axseniors.salesorders.domain.SalesOrderStatus;
+import com.axseniors.salesorders.dto.OrderListFilter;
+import com.axseniors.salesorders.support.SelectCountingInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seeds a few thousand orders, runs the repository queries behind the order listings and checks with
+ * {@code EXPLAIN} that the SQL Hibernate generated for them is answered through the indexes created by the
+ * migrations instead of scanning the tables. On H2 the default listing of active orders uses the plain date
+ * index; the partial index PostgreSQL has for it is not exercised here.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.axseniors.salesorders.support.SelectCountingInspector")
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryIndexUsageTests {
+
+    private static final int ORDERS = 2_000;
+    private static final int LINES_PER_ORDER = 3;
+    private static final int PAGE_SIZE = 50;
+    private static final String ORDER_NUMBER_PREFIX = "IDX-";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SalesOrderRepo salesOrderRepo;
+
+    @Autowired
+    private SalesOrderLineRepo salesOrderLineRepo;
+
+    @Autowired
+    private CustomerRepo customerRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    private UUID customerId;
+    private UUID orderId;
+
+    @BeforeAll
+    void seedOrders() {
+        List<Customer> customers = customerRepo.findAll();
+        List<Product> products = productRepo.findAll();
+        List<SalesOrder> orders = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            SalesOrder order = new SalesOrder();
+            order.setOrderNumber(ORDER_NUMBER_PREFIX + UUID.randomUUID());
+            order.setCustomer(customers.get(i % customers.size()));
+            order.setOrderDate(LocalDate.now().minusDays(i % 365));
+            order.setStatus(SalesOrderStatus.values()[i % SalesOrderStatus.values().length]);
+            for (int j = 0; j < LINES_PER_ORDER; j++) {
+                SalesOrderLine line = new SalesOrderLine();
+                line.setProduct(products.get((i + j) % products.size()));
+                line.setQuantity(1);
+                line.setUnitPrice(new BigDecimal("10.00"));
+                line.setDiscountPct(BigDecimal.ZERO);
+                order.addLine(line);
+            }
+            orders.add(order);
+        }
+        orderId = salesOrderRepo.saveAll(orders).get(0).getId();
+        customerId = customers.get(0).getId();
+        jdbcTemplate.execute("analyze");
+    }
+
+    @AfterAll
+    void deleteSeededOrders() {
+        jdbcTemplate.update("""
+                delete from sales_order_lines
+                where order_id in (select id from sales_orders where order_number like ?)
+                """, ORDER_NUMBER_PREFIX + "%");
+        jdbcTemplate.update("delete from sales_orders where order_number like ?", ORDER_NUMBER_PREFIX + "%");
+    }
+
+    @Test
+    void orderLinesAreLoadedThroughOrderIndex() {
+        SelectCountingInspector.reset();
+        salesOrderLineRepo.findAllWithProductByOrderIdIn(List.of(orderId));
+
+        assertUsesIndex("ix_sales_order_lines_order", orderId);
+    }
+
+    @Test
+    void customerListingUsesCustomerDateIndex() {
+        LocalDate from = LocalDate.now().minusDays(30);
+        SelectCountingInspector.reset();
+        salesOrderRepo.findSummaries(OrderListFilter.builder()
+                .customerId(customerId)
+                .includeCancelled(true)
+                .fromDate(from)
+                .build(), null, null, PAGE_SIZE);
+
+        assertUsesIndex("ix_sales_orders_customer_date", customerId, from);
+    }
+
+    @Test
+    void statusListingUsesStatusDateIndex() {
+        LocalDate from = LocalDate.now().minusDays(30);
+        LocalDate to = LocalDate.now();
+        SelectCountingInspector.reset();
+        salesOrderRepo.findPageIds(OrderListFilter.builder()
+                .status(SalesOrderStatus.CONFIRMED)
+                .fromDate(from)
+                .toDate(to)
+                .build(), null, null, PAGE_SIZE);
+
+        assertUsesIndex("ix_sales_orders_status_date", SalesOrderStatus.CONFIRMED.name(), from, to);
+    }
+
+    @Test
+    void activeListingWalksTheDateIndexInsteadOfSorting() {
+        SelectCountingInspector.reset();
+        salesOrderRepo.findPageIds(OrderListFilter.builder().build(), null, null, PAGE_SIZE);
+
+        assertUsesIndex("ix_sales_orders_date", SalesOrderStatus.CANCELLED.name());
+    }
+
+    /**
+     * Explains the last select the repository issued, binding {@code params} in the order of its placeholders;
+     * the page size is appended when Hibernate binds the row limit as a parameter too.
+     */
+    private void assertUsesIndex(String index, Object... params) {
+        String sql = SelectCountingInspector.lastSelect();
+        assertThat(sql).as("no select was issued").isNotNull();
+        long placeholders = sql.chars().filter(c -> c == '?').count();
+        Object[] args = placeholders == params.length + 1L ? append(params, PAGE_SIZE) : params;
+        assertThat(args).as(sql).hasSize((int) placeholders);
+
+        String plan = String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class, args));
+
+        assertThat(plan).as(plan).containsIgnoringCase(index).doesNotContainIgnoringCase("tableScan");
+    }
+
+    private static Object[] append(Object[] params, Object last) {
+        Object[] args = Arrays.copyOf(params, params.length + 1);
+        args[params.length] = last;
+        return args;
+    }
+}
@@ -0,0 +1,130 @@
+package com.axseniors.salesorders.service;
+
+import com.axseniors.salesorders.dto.BulkOrderItemResult;
+import com.axseniors.salesorders.dto.BulkOrderResponse;
+import com.axseniors.salesorders.dto.OrderLineRequest;
+import com.axseniors.salesorders.dto.OrderUpsertRequest;
+import com.axseniors.salesorders.repo.CustomerRepo;
+import com.axseniors.salesorders.repo.ProductRepo;
+import com.axseniors.salesorders.repo.SalesOrderRepo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BulkOrderImportServiceTests {
+
+    private static final int CHUNK_SIZE = 2;
+
+    @Autowired
+    private SalesOrderService salesOrderService;
+
+    @Autowired
+    private SalesOrderRepo salesOrderRepo;
+
+    @Autowired
+    private CustomerRepo customerRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    private BulkOrderImportService importService;
+
+    @BeforeEach
+    void smallChunks() {
+        importService = new BulkOrderImportService(salesOrderService, objectMapper, validator, CHUNK_SIZE);
+    }
+
+    @Test
+    void reportsEveryItemOfAJsonArray() throws Exception {
+        OrderUpsertRequest unknownCustomer = orderRequest();
+        unknownCustomer.setCustomerId(UUID.randomUUID());
+        OrderUpsertRequest invalid = orderRequest();
+        invalid.setLines(List.of());
+        List<OrderUpsertRequest> requests = List.of(orderRequest(), unknownCustomer, orderRequest(), invalid, orderRequest());
+
+        BulkOrderResponse response = importService.importOrders(body(objectMapper.writeValueAsString(requests)));
+
+        assertThat(response.getReceived()).isEqualTo(5);
+        assertThat(response.getCreated()).isEqualTo(3);
+        assertThat(response.getFailed()).isEqualTo(2);
+        assertThat(response.getResults()).extracting(BulkOrderItemResult::getIndex).containsExactly(0, 1, 2, 3, 4);
+        assertThat(response.getResults().get(1).getError()).isEqualTo("Customer not found");
+        assertThat(response.getResults().get(3).getError()).startsWith("lines:");
+        assertThat(response.getResults()).filteredOn(result -> result.getError() == null)
+                .allSatisfy(result -> assertThat(salesOrderRepo.findByOrderNumber(result.getOrderNumber())).isPresent());
+    }
+
+    @Test
+    void malformedInputPartwayKeepsTheOrdersReadBeforeIt() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            ndjson.append(objectMapper.writeValueAsString(orderRequest())).append('\n');
+        }
+        ndjson.append("{\"customerId\": \n");
+
+        BulkOrderResponse response = importService.importOrders(body(ndjson.toString()));
+
+        // Two chunks were committed before the error and the fifth order was pending; all five are created.
+        assertThat(response.getReceived()).isEqualTo(6);
+        assertThat(response.getCreated()).isEqualTo(5);
+        assertThat(response.getFailed()).isEqualTo(1);
+        BulkOrderItemResult failed = response.getResults().get(5);
+        assertThat(failed.getIndex()).isEqualTo(5);
+        assertThat(failed.getError()).startsWith("Malformed JSON");
+        assertThat(response.getResults().subList(0, 5))
+                .allSatisfy(result -> assertThat(salesOrderRepo.findByOrderNumber(result.getOrderNumber())).isPresent());
+    }
+
+    @Test
+    void bodyMalformedFromTheStartIsRejected() {
+        assertThatThrownBy(() -> importService.importOrders(body("[{oops")))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    private static ByteArrayInputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private OrderUpsertRequest orderRequest() {
+        OrderLineRequest line = new OrderLineRequest();
+        line.setProductId(productRepo.findAll().get(0).getId());
+        line.setQuantity(2);
+        line.setUnitPrice(new BigDecimal("10.00"));
+        line.setDiscountPct(BigDecimal.ZERO);
+
+        List<OrderLineRequest> lines = new ArrayList<>();
+        lines.add(line);
+
+        OrderUpsertRequest request = new OrderUpsertRequest();
+        request.setCustomerId(customerRepo.findAll().get(0).getId());
+        request.setOrderDate(LocalDate.now());
+        request.setLines(lines);
+        return request;
+    }
+}
@@ -0,0 +1,134 @@
+package com.axseniors.salesorders.service;
+
+import com.axseniors.salesorders.domain.CancelReason;
+import com.axseniors.salesorders.domain.Customer;
+import com.axseniors.salesorders.domain.Product;
+import com.axseniors.salesorders.domain.SalesOrderStatus;
+import com.axseniors.salesorders.dto.BulkTransitionItemResult;
+import com.axseniors.salesorders.dto.BulkTransitionRequest;
+import com.axseniors.salesorders.dto.BulkTransitionResponse;
+import com.axseniors.salesorders.dto.OrderLineRequest;
+import com.axseniors.salesorders.dto.OrderResponse;
+import com.axseniors.salesorders.dto.OrderUpsertRequest;
+import com.axseniors.salesorders.repo.CustomerRepo;
+import com.axseniors.salesorders.repo.ProductRepo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BulkOrderTransitionServiceTests {
+
+    private static final LocalDate DAY = LocalDate.of(2003, 7, 14);
+
+    @Autowired
+    private BulkOrderTransitionService bulkOrderTransitionService;
+
+    @Autowired
+    private SalesOrderService salesOrderService;
+
+    @Autowired
+    private DailySalesRollupService dailySalesRollupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CustomerRepo customerRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Test
+    void bulkTransitionsFollowTheSingleOrderRules() {
+        dailySalesRollupService.rebuild();
+
+        OrderResponse first = salesOrderService.createOrder(order());
+        OrderResponse second = salesOrderService.createOrder(order());
+        OrderResponse confirmed = salesOrderService.confirmOrder(salesOrderService.createOrder(order()).getId());
+        UUID missing = UUID.randomUUID();
+
+        BulkTransitionRequest confirm = new BulkTransitionRequest();
+        confirm.setOrderIds(List.of(first.getId(), confirmed.getId(), missing, second.getId()));
+        BulkTransitionResponse confirmResult = bulkOrderTransitionService.confirmOrders(confirm);
+
+        assertThat(confirmResult.getTransitioned()).isEqualTo(2);
+        assertThat(confirmResult.getResults()).extracting(BulkTransitionItemResult::getOrderId)
+                .containsExactly(first.getId(), confirmed.getId(), missing, second.getId());
+        assertThat(confirmResult.getResults()).extracting(BulkTransitionItemResult::getError)
+                .containsExactly(null, "Confirmed orders cannot be edited", "Order not found", null);
+        assertThat(salesOrderService.getOrder(second.getId()).getStatus()).isEqualTo(SalesOrderStatus.CONFIRMED);
+        assertThat(dailySalesRollupService.verify().getRowsMismatched()).isZero();
+
+        BulkTransitionRequest cancel = new BulkTransitionRequest();
+        cancel.setCustomerId(first.getCustomerId());
+        cancel.setFromDate(DAY);
+        cancel.setToDate(DAY);
+        cancel.setReason(CancelReason.CUSTOMER_REQUEST);
+        cancel.setNote("Bulk");
+        BulkTransitionResponse cancelResult = bulkOrderTransitionService.cancelOrders(cancel);
+
+        assertThat(cancelResult.getResults()).extracting(BulkTransitionItemResult::getOrderId)
+                .containsExactlyInAnyOrder(first.getId(), second.getId(), confirmed.getId());
+        assertThat(cancelResult.getFailed()).isZero();
+        OrderResponse cancelled = salesOrderService.getOrder(first.getId());
+        assertThat(cancelled.getStatus()).isEqualTo(SalesOrderStatus.CANCELLED);
+        assertThat(cancelled.getCancelReason()).isEqualTo(CancelReason.CUSTOMER_REQUEST);
+        assertThat(cancelled.getCancelNote()).isEqualTo("Bulk");
+        assertThat(dailySalesRollupService.revenueByDay(DAY, DAY)).isEmpty();
+        assertThat(dailySalesRollupService.verify().getRowsMismatched()).isZero();
+
+        cancel.setStatus(SalesOrderStatus.CANCELLED);
+        assertThat(bulkOrderTransitionService.cancelOrders(cancel).getResults())
+                .extracting(BulkTransitionItemResult::getError)
+                .containsOnly("Order already cancelled");
+    }
+
+    @Test
+    void bulkEventsCarryTheSamePayloadAsSingleTransitions() throws Exception {
+        OrderResponse created = salesOrderService.createOrder(order());
+        BulkTransitionRequest confirm = new BulkTransitionRequest();
+        confirm.setOrderIds(List.of(created.getId()));
+
+        bulkOrderTransitionService.confirmOrders(confirm);
+
+        String payload = jdbcTemplate.queryForObject(
+                "select payload from order_outbox where aggregate_id = ? and event_type = 'ORDER_CONFIRMED'",
+                String.class, created.getId());
+        OrderResponse confirmed = salesOrderService.getOrder(created.getId());
+        assertThat(confirmed.getLines()).hasSize(1);
+        assertThat(objectMapper.readTree(payload))
+                .isEqualTo(objectMapper.readTree(objectMapper.writeValueAsString(confirmed)));
+    }
+
+    private OrderUpsertRequest order() {
+        Customer customer = customerRepo.findAll().get(0);
+        Product product = productRepo.findAll().get(0);
+
+        OrderLineRequest line = new OrderLineRequest();
+        line.setProductId(product.getId());
+        line.setQuantity(2);
+        line.setUnitPrice(new BigDecimal("19.99"));
+        line.setDiscountPct(new BigDecimal("10"));
+
+        OrderUpsertRequest request = new OrderUpsertRequest();
+        request.setCustomerId(customer.getId());
+        request.setOrderDate(DAY);
+        request.setLines(List.of(line));
+        return request;
+    }
+}
@@ -0,0 +1,141 @@
+package com.axseniors.salesorders.service;
+
+import com.axseniors.salesorders.domain.CancelReason;
+import com.axseniors.salesorders.domain.Customer;
+import com.axseniors.salesorders.domain.Product;
+import com.axseniors.salesorders.dto.CancelOrderRequest;
+import com.axseniors.salesorders.dto.OrderLineRequest;
+import com.axseniors.salesorders.dto.OrderLineResponse;
+import com.axseniors.salesorders.dto.OrderResponse;
+import com.axseniors.salesorders.dto.OrderUpsertRequest;
+import com.axseniors.salesorders.dto.RollupRevenue;
+import com.axseniors.salesorders.repo.CustomerRepo;
+import com.axseniors.salesorders.repo.DailySalesRollupRepo;
+import com.axseniors.salesorders.repo.DailySalesRollupRepo.Delta;
+import com.axseniors.salesorders.repo.ProductRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DailySalesRollupServiceTests {
+
+    private static final LocalDate DAY = LocalDate.of(2002, 5, 10);
+    private static final LocalDate LEGACY_DAY = LocalDate.of(2002, 5, 11);
+
+    @Autowired
+    private DailySalesRollupService dailySalesRollupService;
+
+    @Autowired
+    private SalesOrderService salesOrderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CustomerRepo customerRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Test
+    void confirmAddsAndCancelReversesTheOrder() {
+        // Other tests insert confirmed orders straight through the repositories; start from a consistent rollup.
+        dailySalesRollupService.rebuild();
+
+        OrderResponse first = salesOrderService.confirmOrder(salesOrderService.createOrder(order()).getId());
+        OrderResponse second = salesOrderService.confirmOrder(salesOrderService.createOrder(order()).getId());
+        salesOrderService.createOrder(order());
+
+        assertThat(dailySalesRollupService.revenueByDay(DAY, DAY)).singleElement().satisfies(row -> {
+            assertThat(row.getQuantity()).isEqualTo(6);
+            assertThat(row.getRevenue()).isEqualByComparingTo(first.getOrderTotal().add(second.getOrderTotal()));
+        });
+        assertThat(dailySalesRollupService.verify().getRowsMismatched()).isZero();
+
+        CancelOrderRequest cancel = new CancelOrderRequest();
+        cancel.setReason(CancelReason.CUSTOMER_REQUEST);
+        salesOrderService.cancelOrder(first.getId(), cancel);
+
+        assertThat(dailySalesRollupService.revenueByDay(DAY, DAY)).extracting(RollupRevenue::getRevenue)
+                .singleElement().satisfies(revenue -> assertThat(revenue).isEqualByComparingTo(second.getOrderTotal()));
+        assertThat(dailySalesRollupService.verify().getRowsMismatched()).isZero();
+    }
+
+    @Test
+    void deltasAreAppliedInTheDatabaseKeyOrder() {
+        // Ids on both sides of the sign bit, where UUID.compareTo and the database disagree.
+        List<UUID> ids = new ArrayList<>(List.of(
+                UUID.fromString("00000000-0000-7000-8000-000000000001"),
+                UUID.fromString("7fffffff-ffff-7fff-bfff-ffffffffffff"),
+                UUID.fromString("80000000-0000-7000-8000-000000000000"),
+                UUID.fromString("ffffffff-ffff-7fff-bfff-ffffffffffff"),
+                UUID.fromString("80000000-0000-7000-0000-000000000000")));
+        Collections.shuffle(ids);
+
+        String values = String.join(", ", Collections.nCopies(ids.size(), "(cast(? as uuid))"));
+        List<UUID> databaseOrder = jdbcTemplate.queryForList(
+                "select id from (values " + values + ") as t (id) order by id", UUID.class, ids.toArray());
+        List<UUID> repoOrder = ids.stream()
+                .map(id -> new Delta(DAY, id, id, 0, BigDecimal.ZERO, BigDecimal.ZERO, 0))
+                .sorted(DailySalesRollupRepo.KEY_ORDER)
+                .map(Delta::productId)
+                .toList();
+
+        assertThat(repoOrder).isEqualTo(databaseOrder);
+    }
+
+    @Test
+    void rebuildDerivesLineTotalsThatWereNeverStored() {
+        OrderUpsertRequest request = order();
+        request.setOrderDate(LEGACY_DAY);
+        OrderResponse order = salesOrderService.confirmOrder(salesOrderService.createOrder(request).getId());
+        // Lines written before totals were persisted have no line_total until the backfill runs.
+        jdbcTemplate.update("update sales_order_lines set line_total = null where order_id = ?", order.getId());
+        try {
+            dailySalesRollupService.rebuild();
+
+            assertThat(dailySalesRollupService.revenueByDay(LEGACY_DAY, LEGACY_DAY)).singleElement()
+                    .satisfies(row -> assertThat(row.getRevenue()).isEqualByComparingTo(order.getOrderTotal()));
+            assertThat(dailySalesRollupService.verify().getRowsMismatched()).isZero();
+        } finally {
+            for (OrderLineResponse line : order.getLines()) {
+                jdbcTemplate.update("update sales_order_lines set line_total = ? where id = ?",
+                        line.getLineTotal(), line.getLineId());
+            }
+        }
+    }
+
+    private OrderUpsertRequest order() {
+        Customer customer = customerRepo.findAll().get(0);
+        List<Product> products = productRepo.findAll();
+
+        List<OrderLineRequest> lines = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            OrderLineRequest line = new OrderLineRequest();
+            line.setProductId(products.get(i % 2).getId());
+            line.setQuantity(1);
+            line.setUnitPrice(new BigDecimal("12.50"));
+            line.setDiscountPct(new BigDecimal("5"));
+            lines.add(line);
+        }
+
+        OrderUpsertRequest request = new OrderUpsertRequest();
+        request.setCustomerId(customer.getId());
+        request.setOrderDate(DAY);
+        request.setLines(lines);
+        return request;
+    }
+}
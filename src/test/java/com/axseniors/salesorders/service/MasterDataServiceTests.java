@@ -0,0 +1,106 @@
+package com.axseniors.salesorders.service;
+
+import com.axseniors.salesorders.domain.Customer;
+import com.axseniors.salesorders.dto.CustomerRequest;
+import com.axseniors.salesorders.dto.CustomerResponse;
+import com.axseniors.salesorders.support.SelectCountingInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.axseniors.salesorders.support.SelectCountingInspector")
+@ActiveProfiles("test")
+class MasterDataServiceTests {
+
+    @Autowired
+    private MasterDataService masterDataService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void cacheHitsDoNotQueryTheDatabase() {
+        CustomerResponse customer = masterDataService.createCustomer(customerRequest("Cached"));
+
+        SelectCountingInspector.reset();
+        masterDataService.findCustomer(customer.getId());
+        masterDataService.listCustomers();
+        masterDataService.listProducts();
+        assertThat(SelectCountingInspector.selects()).isEqualTo(3);
+
+        SelectCountingInspector.reset();
+        masterDataService.findCustomer(customer.getId());
+        masterDataService.findCustomers(List.of(customer.getId()));
+        masterDataService.listCustomers();
+        masterDataService.listProducts();
+        assertThat(SelectCountingInspector.selects()).isZero();
+    }
+
+    @Test
+    void updateReplacesTheCachedCustomerAndEvictsTheList() {
+        CustomerResponse customer = masterDataService.createCustomer(customerRequest("Before"));
+        masterDataService.findCustomer(customer.getId());
+        assertThat(masterDataService.listCustomers()).extracting(CustomerResponse::getName).contains("Before");
+
+        masterDataService.updateCustomer(customer.getId(), customerRequest("After"));
+
+        assertThat(masterDataService.findCustomer(customer.getId())).get()
+                .extracting(Customer::getName).isEqualTo("After");
+        assertThat(masterDataService.listCustomers()).extracting(CustomerResponse::getName)
+                .contains("After").doesNotContain("Before");
+    }
+
+    @Test
+    void rolledBackUpdateDoesNotReachTheCache() {
+        CustomerResponse customer = masterDataService.createCustomer(customerRequest("Committed"));
+        masterDataService.findCustomer(customer.getId());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            masterDataService.updateCustomer(customer.getId(), customerRequest("Rolled back"));
+            status.setRollbackOnly();
+        });
+
+        assertThat(masterDataService.findCustomer(customer.getId())).get()
+                .extracting(Customer::getName).isEqualTo("Committed");
+        assertThat(masterDataService.listCustomers()).extracting(CustomerResponse::getName)
+                .contains("Committed").doesNotContain("Rolled back");
+    }
+
+    @Test
+    void callersCannotChangeTheCachedCustomer() {
+        CustomerResponse customer = masterDataService.createCustomer(customerRequest("Original"));
+
+        masterDataService.findCustomer(customer.getId()).orElseThrow().setName("Changed by a caller");
+
+        assertThat(masterDataService.findCustomer(customer.getId())).get()
+                .extracting(Customer::getName).isEqualTo("Original");
+    }
+
+    private static CustomerRequest customerRequest(String name) {
+        CustomerRequest request = new CustomerRequest();
+        request.setName(name);
+        request.setContactName("Contact");
+        request.setEmail("cache@example.com");
+        request.setPhone("600 000 000");
+        request.setTaxId("CACHE-" + UUID.randomUUID());
+        return request;
+    }
+}
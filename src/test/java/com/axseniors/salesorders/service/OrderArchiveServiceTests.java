@@ -0,0 +1,111 @@
+package com.axseniors.salesorders.service;
+
+import com.axseniors.salesorders.domain.CancelReason;
+import com.axseniors.salesorders.domain.SalesOrderStatus;
+import com.axseniors.salesorders.dto.AnalyticsFilter;
+import com.axseniors.salesorders.dto.CancelOrderRequest;
+import com.axseniors.salesorders.dto.CancellationReport;
+import com.axseniors.salesorders.dto.OrderLineRequest;
+import com.axseniors.salesorders.dto.OrderResponse;
+import com.axseniors.salesorders.dto.OrderUpsertRequest;
+import com.axseniors.salesorders.dto.PeriodRevenue;
+import com.axseniors.salesorders.repo.CustomerRepo;
+import com.axseniors.salesorders.repo.ProductRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderArchiveServiceTests {
+
+    // Far before the dates other tests use, so archiving as of TODAY only touches the orders created here.
+    private static final LocalDate OLD = LocalDate.of(1990, 1, 10);
+    private static final LocalDate RECENT = LocalDate.of(1991, 6, 1);
+    private static final LocalDate TODAY = LocalDate.of(1992, 1, 20);
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    @Autowired
+    private SalesOrderService salesOrderService;
+
+    @Autowired
+    private DailySalesRollupService dailySalesRollupService;
+
+    @Autowired
+    private SalesAnalyticsService salesAnalyticsService;
+
+    @Autowired
+    private CustomerRepo customerRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Test
+    void movesCancelledAndOldOrdersToTheArchive() {
+        dailySalesRollupService.rebuild();
+
+        OrderResponse old = salesOrderService.confirmOrder(salesOrderService.createOrder(order(OLD)).getId());
+        OrderResponse cancelled = salesOrderService.createOrder(order(RECENT));
+        CancelOrderRequest cancel = new CancelOrderRequest();
+        cancel.setReason(CancelReason.DUPLICATE);
+        salesOrderService.cancelOrder(cancelled.getId(), cancel);
+        OrderResponse draft = salesOrderService.createOrder(order(RECENT));
+        AnalyticsFilter range = AnalyticsFilter.builder().fromDate(OLD).toDate(TODAY).build();
+        List<PeriodRevenue> revenueBefore = salesAnalyticsService.revenueByDay(range);
+        CancellationReport cancellationsBefore = salesAnalyticsService.cancellations(range);
+
+        assertThat(orderArchiveService.archive(TODAY)).isEqualTo(2);
+
+        assertThat(salesOrderService.findOrderVersion(old.getId())).isEmpty();
+        assertThat(salesOrderService.findOrderVersion(cancelled.getId())).isEmpty();
+        assertThat(salesOrderService.findOrderVersion(draft.getId())).isPresent();
+
+        OrderResponse archived = orderArchiveService.getArchivedOrder(old.getId());
+        assertThat(archived.getStatus()).isEqualTo(SalesOrderStatus.CONFIRMED);
+        assertThat(archived.getOrderTotal()).isEqualByComparingTo(old.getOrderTotal());
+        assertThat(archived.getLines()).hasSize(old.getLines().size());
+        assertThat(orderArchiveService.getArchivedOrder(cancelled.getId()).getCancelReason()).isEqualTo(CancelReason.DUPLICATE);
+
+        List<OrderResponse> listed = orderArchiveService.listArchivedOrders(old.getCustomerId(), OLD, TODAY, 50);
+        assertThat(listed).extracting(OrderResponse::getId).containsExactly(old.getId(), cancelled.getId());
+
+        // The confirmed order left the active tables but its sales stay in the rollup, and a rebuild agrees.
+        assertThat(dailySalesRollupService.revenueByDay(OLD, OLD)).singleElement()
+                .satisfies(row -> assertThat(row.getRevenue()).isEqualByComparingTo(old.getOrderTotal()));
+        assertThat(dailySalesRollupService.verify().getRowsMismatched()).isZero();
+
+        // Analytics read archived orders too, so the figures for the period are the same as before archiving.
+        assertThat(revenueBefore).extracting(PeriodRevenue::getPeriod).containsExactly(OLD, RECENT);
+        assertThat(salesAnalyticsService.revenueByDay(range)).usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(revenueBefore);
+        CancellationReport cancellationsAfter = salesAnalyticsService.cancellations(range);
+        assertThat(cancellationsAfter.getOrdersPlaced()).isEqualTo(cancellationsBefore.getOrdersPlaced()).isEqualTo(3);
+        assertThat(cancellationsAfter.getOrdersCancelled()).isEqualTo(cancellationsBefore.getOrdersCancelled()).isEqualTo(1);
+
+        assertThat(orderArchiveService.archive(TODAY)).isZero();
+    }
+
+    private OrderUpsertRequest order(LocalDate orderDate) {
+        OrderLineRequest line = new OrderLineRequest();
+        line.setProductId(productRepo.findAll().get(0).getId());
+        line.setQuantity(3);
+        line.setUnitPrice(new BigDecimal("7.30"));
+        line.setDiscountPct(new BigDecimal("5"));
+
+        OrderUpsertRequest request = new OrderUpsertRequest();
+        request.setCustomerId(customerRepo.findAll().get(0).getId());
+        request.setOrderDate(orderDate);
+        request.setLines(List.of(line));
+        return request;
+    }
+}
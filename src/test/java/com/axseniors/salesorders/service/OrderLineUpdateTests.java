@@ -0,0 +1,142 @@
+package com.axseniors.salesorders.service;
+
+import com.axseniors.salesorders.domain.Product;
+import com.axseniors.salesorders.dto.OrderLineRequest;
+import com.axseniors.salesorders.dto.OrderLineResponse;
+import com.axseniors.salesorders.dto.OrderResponse;
+import com.axseniors.salesorders.dto.OrderUpsertRequest;
+import com.axseniors.salesorders.repo.CustomerRepo;
+import com.axseniors.salesorders.repo.ProductRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderLineUpdateTests {
+
+    @Autowired
+    private SalesOrderService salesOrderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CustomerRepo customerRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    private List<Product> products;
+
+    @BeforeEach
+    void loadProducts() {
+        products = productRepo.findAll();
+    }
+
+    @Test
+    void linesSentWithTheirIdAreUpdatedInPlace() {
+        OrderResponse order = salesOrderService.createOrder(orderRequest(line(null, 0, 1), line(null, 1, 2)));
+        UUID first = order.getLines().get(0).getLineId();
+        UUID second = order.getLines().get(1).getLineId();
+
+        OrderResponse updated = salesOrderService.updateOrder(order.getId(),
+                orderRequest(line(first, 0, 5), line(second, 1, 6)));
+
+        assertThat(updated.getLines()).extracting(OrderLineResponse::getLineId).containsExactlyInAnyOrder(first, second);
+        assertThat(updated.getLines()).extracting(OrderLineResponse::getQuantity).containsExactlyInAnyOrder(5, 6);
+        assertThat(storedLineIds(order.getId())).containsExactlyInAnyOrder(first, second);
+    }
+
+    @Test
+    void linesWithoutAnIdAreInsertedAndLinesLeftOutAreDeleted() {
+        OrderResponse order = salesOrderService.createOrder(orderRequest(line(null, 0, 1)));
+        UUID original = order.getLines().get(0).getLineId();
+
+        OrderResponse inserted = salesOrderService.updateOrder(order.getId(),
+                orderRequest(line(original, 0, 1), line(null, 1, 3)));
+        assertThat(inserted.getLines()).hasSize(2);
+        assertThat(storedLineIds(order.getId())).hasSize(2).contains(original);
+
+        OrderResponse deleted = salesOrderService.updateOrder(order.getId(), orderRequest(line(null, 2, 4)));
+        assertThat(deleted.getLines()).hasSize(1);
+        assertThat(storedLineIds(order.getId())).hasSize(1).doesNotContain(original);
+    }
+
+    @Test
+    void oneUpdateCanKeepChangeAddAndDropLines() {
+        OrderResponse order = salesOrderService.createOrder(orderRequest(line(null, 0, 1), line(null, 1, 1), line(null, 2, 1)));
+        UUID kept = order.getLines().get(0).getLineId();
+        UUID changed = order.getLines().get(1).getLineId();
+        UUID dropped = order.getLines().get(2).getLineId();
+
+        OrderResponse updated = salesOrderService.updateOrder(order.getId(),
+                orderRequest(line(kept, 0, 1), line(changed, 3, 7), line(null, 4, 2)));
+
+        List<UUID> stored = storedLineIds(order.getId());
+        assertThat(stored).hasSize(3).contains(kept, changed).doesNotContain(dropped);
+        OrderLineResponse changedLine = updated.getLines().stream()
+                .filter(line -> line.getLineId().equals(changed))
+                .findFirst().orElseThrow();
+        assertThat(changedLine.getProductId()).isEqualTo(products.get(3).getId());
+        assertThat(changedLine.getQuantity()).isEqualTo(7);
+    }
+
+    @Test
+    void repeatedLineIdIsRejectedAndLeavesTheOrderAsItWas() {
+        OrderResponse order = salesOrderService.createOrder(orderRequest(line(null, 0, 1), line(null, 1, 1)));
+        UUID first = order.getLines().get(0).getLineId();
+
+        assertThatThrownBy(() -> salesOrderService.updateOrder(order.getId(), orderRequest(line(first, 0, 2), line(first, 1, 3))))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThat(storedLineIds(order.getId()))
+                .containsExactlyInAnyOrderElementsOf(order.getLines().stream().map(OrderLineResponse::getLineId).toList());
+    }
+
+    @Test
+    void lineIdOfAnotherOrderIsNotFound() {
+        OrderResponse other = salesOrderService.createOrder(orderRequest(line(null, 0, 1)));
+        OrderResponse order = salesOrderService.createOrder(orderRequest(line(null, 0, 1)));
+
+        assertThatThrownBy(() -> salesOrderService.updateOrder(order.getId(),
+                orderRequest(line(other.getLines().get(0).getLineId(), 0, 2))))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+    }
+
+    private List<UUID> storedLineIds(UUID orderId) {
+        return jdbcTemplate.queryForList("select id from sales_order_lines where order_id = ?", UUID.class, orderId);
+    }
+
+    private OrderLineRequest line(UUID lineId, int product, int quantity) {
+        OrderLineRequest line = new OrderLineRequest();
+        line.setLineId(lineId);
+        line.setProductId(products.get(product).getId());
+        line.setQuantity(quantity);
+        line.setUnitPrice(new BigDecimal("10.00"));
+        return line;
+    }
+
+    private OrderUpsertRequest orderRequest(OrderLineRequest... lines) {
+        OrderUpsertRequest request = new OrderUpsertRequest();
+        request.setCustomerId(customerRepo.findAll().get(0).getId());
+        request.setOrderDate(LocalDate.now());
+        request.setLines(new ArrayList<>(List.of(lines)));
+        return request;
+    }
+}
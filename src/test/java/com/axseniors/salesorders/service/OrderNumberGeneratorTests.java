@@ -0,0 +1,130 @@
+package com.axseniors.salesorders.service;
+
+import com.axseniors.salesorders.domain.Customer;
+import com.axseniors.salesorders.domain.Product;
+import com.axseniors.salesorders.dto.OrderLineRequest;
+import com.axseniors.salesorders.dto.OrderResponse;
+import com.axseniors.salesorders.dto.OrderUpsertRequest;
+import com.axseniors.salesorders.repo.CustomerRepo;
+import com.axseniors.salesorders.repo.ProductRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderNumberGeneratorTests {
+
+    private static final int INSTANCES = 3;
+    private static final int THREADS_PER_INSTANCE = 8;
+    private static final int NUMBERS_PER_THREAD = 200;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private SalesOrderService salesOrderService;
+
+    @Autowired
+    private CustomerRepo customerRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Test
+    void instancesSharingTheCounterNeverHandOutTheSameNumber() throws Exception {
+        List<OrderNumberGenerator> generators = new ArrayList<>();
+        for (int i = 0; i < INSTANCES; i++) {
+            // Small blocks so the instances keep refilling against the same counter row.
+            generators.add(new OrderNumberGenerator(dataSourceProperties, 7, 2, Duration.ofSeconds(10)));
+        }
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (OrderNumberGenerator generator : generators) {
+                for (int t = 0; t < THREADS_PER_INSTANCE; t++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        for (int n = 0; n < NUMBERS_PER_THREAD; n++) {
+                            numbers.add(generator.next());
+                        }
+                        return null;
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+            generators.forEach(OrderNumberGenerator::destroy);
+        }
+
+        assertThat(numbers).hasSize(INSTANCES * THREADS_PER_INSTANCE * NUMBERS_PER_THREAD);
+        assertThat(numbers).allMatch(number -> number.matches("SO-\\d{8}-\\d{4,}"));
+    }
+
+    @Test
+    void clientCannotPickANumberInTheGeneratorFormat() {
+        OrderUpsertRequest request = orderRequest();
+        request.setOrderNumber("SO-20240101-0042");
+
+        assertThatThrownBy(() -> salesOrderService.createOrder(request))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    void updateMayResendTheGeneratedNumber() {
+        OrderResponse created = salesOrderService.createOrder(orderRequest());
+        OrderUpsertRequest update = orderRequest();
+        update.setOrderNumber(created.getOrderNumber());
+
+        OrderResponse updated = salesOrderService.updateOrder(created.getId(), update);
+
+        assertThat(updated.getOrderNumber()).isEqualTo(created.getOrderNumber());
+    }
+
+    private OrderUpsertRequest orderRequest() {
+        Customer customer = customerRepo.findAll().get(0);
+        Product product = productRepo.findAll().get(0);
+
+        OrderLineRequest line = new OrderLineRequest();
+        line.setProductId(product.getId());
+        line.setQuantity(1);
+        line.setUnitPrice(new BigDecimal("10.00"));
+
+        List<OrderLineRequest> lines = new ArrayList<>();
+        lines.add(line);
+
+        OrderUpsertRequest request = new OrderUpsertRequest();
+        request.setCustomerId(customer.getId());
+        request.setOrderDate(LocalDate.now());
+        request.setLines(lines);
+        return request;
+    }
+}
@@ -0,0 +1,147 @@
+package com.axseniors.salesorders.service;
+
+import com.axseniors.salesorders.dto.CustomerRequest;
+import com.axseniors.salesorders.dto.OrderLineRequest;
+import com.axseniors.salesorders.dto.OrderListFilter;
+import com.axseniors.salesorders.dto.OrderPageResponse;
+import com.axseniors.salesorders.dto.OrderResponse;
+import com.axseniors.salesorders.dto.OrderSummaryPageResponse;
+import com.axseniors.salesorders.dto.OrderSummaryResponse;
+import com.axseniors.salesorders.dto.OrderUpsertRequest;
+import com.axseniors.salesorders.repo.ProductRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Walks the keyset pages of a customer of its own, whose orders share a few order dates, so most page boundaries
+ * fall between orders with the same date and only the id breaks the tie.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderPaginationTests {
+
+    private static final int ORDERS = 11;
+    private static final int PAGE_SIZE = 3;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2004, 3, 1);
+
+    @Autowired
+    private SalesOrderService salesOrderService;
+
+    @Autowired
+    private MasterDataService masterDataService;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    private OrderListFilter filter;
+    private List<UUID> created;
+
+    @BeforeEach
+    void createOrders() {
+        CustomerRequest customer = new CustomerRequest();
+        customer.setName("Paginated");
+        customer.setContactName("Contact");
+        customer.setEmail("pages@example.com");
+        customer.setPhone("600 000 000");
+        customer.setTaxId("PAGES-" + UUID.randomUUID());
+        UUID customerId = masterDataService.createCustomer(customer).getId();
+
+        created = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            created.add(salesOrderService.createOrder(orderRequest(customerId, FIRST_DAY.plusDays(i % 2))).getId());
+        }
+        filter = OrderListFilter.builder().customerId(customerId).build();
+    }
+
+    @Test
+    void pagesCoverEveryOrderOnceInDateOrder() {
+        List<OrderResponse> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            OrderPageResponse page = salesOrderService.listOrders(filter, cursor, PAGE_SIZE);
+            pages++;
+            seen.addAll(page.getItems());
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(PAGE_SIZE);
+            assertThat(page.isHasMore()).isEqualTo(page.getNextCursor() != null);
+            if (page.isHasMore()) {
+                assertThat(page.getItems()).hasSize(PAGE_SIZE);
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo((ORDERS + PAGE_SIZE - 1) / PAGE_SIZE);
+        assertThat(seen).extracting(OrderResponse::getId).containsExactlyInAnyOrderElementsOf(created);
+        assertThat(seen).extracting(OrderResponse::getOrderDate).isSorted();
+    }
+
+    @Test
+    void summaryPagesMatchTheFullPages() {
+        List<UUID> orders = new ArrayList<>();
+        String cursor = null;
+        do {
+            OrderPageResponse page = salesOrderService.listOrders(filter, cursor, PAGE_SIZE);
+            page.getItems().forEach(order -> orders.add(order.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        List<UUID> summaries = new ArrayList<>();
+        do {
+            OrderSummaryPageResponse page = salesOrderService.listOrderSummaries(filter, cursor, PAGE_SIZE);
+            page.getItems().stream().map(OrderSummaryResponse::getId).forEach(summaries::add);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(summaries).containsExactlyElementsOf(orders);
+    }
+
+    @Test
+    void lastPageEndsWithoutACursor() {
+        OrderPageResponse all = salesOrderService.listOrders(filter, null, ORDERS);
+
+        assertThat(all.getItems()).hasSize(ORDERS);
+        assertThat(all.isHasMore()).isFalse();
+        assertThat(all.getNextCursor()).isNull();
+    }
+
+    @Test
+    void cursorRoundTripsAndGarbageIsRejected() {
+        OrderCursor cursor = new OrderCursor(FIRST_DAY, created.get(0));
+
+        assertThat(OrderCursor.decode(cursor.encode())).isEqualTo(cursor);
+        assertThat(OrderCursor.decode(null)).isNull();
+        assertThatThrownBy(() -> salesOrderService.listOrders(filter, "not-a-cursor", PAGE_SIZE))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    private OrderUpsertRequest orderRequest(UUID customerId, LocalDate orderDate) {
+        OrderLineRequest line = new OrderLineRequest();
+        line.setProductId(productRepo.findAll().get(0).getId());
+        line.setQuantity(1);
+        line.setUnitPrice(new BigDecimal("10.00"));
+
+        List<OrderLineRequest> lines = new ArrayList<>();
+        lines.add(line);
+
+        OrderUpsertRequest request = new OrderUpsertRequest();
+        request.setCustomerId(customerId);
+        request.setOrderDate(orderDate);
+        request.setLines(lines);
+        return request;
+    }
+}
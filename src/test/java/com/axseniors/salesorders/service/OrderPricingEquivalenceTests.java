@@ -0,0 +1,113 @@
+package com.axseniors.salesorders.service;
+
+import com.axseniors.salesorders.domain.SalesOrderLine;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the cents-based pricing against the original {@code BigDecimal} formula on random lines: prices with
+ * zero to four decimals (sub-cent prices take the fallback path), large quantities and discounts above 100%.
+ */
+class OrderPricingEquivalenceTests {
+
+    private static final int ORDERS = 50_000;
+
+    private final OrderPricing orderPricing = new OrderPricing();
+
+    @Test
+    void lineAndOrderTotalsMatchTheBigDecimalFormula() {
+        Random random = new Random(20240101L);
+        for (int i = 0; i < ORDERS; i++) {
+            List<SalesOrderLine> lines = new ArrayList<>();
+            BigDecimal total = BigDecimal.ZERO;
+            BigDecimal subtotal = BigDecimal.ZERO;
+            int lineCount = 1 + random.nextInt(6);
+            for (int j = 0; j < lineCount; j++) {
+                SalesOrderLine line = randomLine(random);
+                lines.add(line);
+
+                BigDecimal expected = referenceLineTotal(line);
+                assertThat(orderPricing.calculateLineTotal(line)).as("%s x %s - %s%%",
+                        line.getUnitPrice(), line.getQuantity(), line.getDiscountPct()).isEqualTo(expected);
+                total = total.add(expected);
+                subtotal = subtotal.add(line.getUnitPrice().multiply(BigDecimal.valueOf(line.getQuantity())));
+            }
+
+            OrderTotals totals = orderPricing.calculate(lines);
+            assertThat(totals.getTotal()).isEqualTo(total.setScale(2, RoundingMode.HALF_UP));
+            assertThat(totals.getSubtotal()).isEqualTo(subtotal.setScale(2, RoundingMode.HALF_UP));
+            assertThat(totals.getDiscountTotal()).isEqualTo(subtotal.subtract(total).setScale(2, RoundingMode.HALF_UP));
+        }
+    }
+
+    @Test
+    void roundsHalfUpAwayFromZero() {
+        assertThat(orderPricing.calculateLineTotal(line("0.05", 1, "50"))).isEqualTo(new BigDecimal("0.03"));
+        assertThat(orderPricing.calculateLineTotal(line("0.05", 1, "150"))).isEqualTo(new BigDecimal("-0.03"));
+        assertThat(orderPricing.calculateLineTotal(line("10.00", 3, "33.33333"))).isEqualTo(new BigDecimal("20.00"));
+    }
+
+    @Test
+    void ordersWhoseCentSumsOverflowALongStayExact() {
+        // Each line is still exact in cents (9e14 cents times the factor fits in a long); only the sums overflow.
+        assertTotals(repeat(line("9000000000000.00", 1, "0"), 10_300));
+        // Subtotal 5.4e18 cents and total -5.4e18 fit, their difference does not.
+        assertTotals(repeat(line("9000000000000.00", 1, "200"), 6_000));
+    }
+
+    private static List<SalesOrderLine> repeat(SalesOrderLine line, int count) {
+        List<SalesOrderLine> lines = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            lines.add(line(line.getUnitPrice(), line.getQuantity(), line.getDiscountPct()));
+        }
+        return lines;
+    }
+
+    private void assertTotals(List<SalesOrderLine> lines) {
+        BigDecimal total = BigDecimal.ZERO;
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (SalesOrderLine line : lines) {
+            total = total.add(referenceLineTotal(line));
+            subtotal = subtotal.add(line.getUnitPrice().multiply(BigDecimal.valueOf(line.getQuantity())));
+        }
+
+        OrderTotals totals = orderPricing.calculate(lines);
+        assertThat(totals.getTotal()).isEqualTo(total.setScale(2, RoundingMode.HALF_UP));
+        assertThat(totals.getSubtotal()).isEqualTo(subtotal.setScale(2, RoundingMode.HALF_UP));
+        assertThat(totals.getDiscountTotal()).isEqualTo(subtotal.subtract(total).setScale(2, RoundingMode.HALF_UP));
+    }
+
+    private static SalesOrderLine randomLine(Random random) {
+        return line(BigDecimal.valueOf(random.nextLong(1_000_000_000L), random.nextInt(5)),
+                1 + random.nextInt(10_000),
+                BigDecimal.valueOf(random.nextInt(150_000), random.nextInt(4)));
+    }
+
+    private static SalesOrderLine line(String unitPrice, int quantity, String discountPct) {
+        return line(new BigDecimal(unitPrice), quantity, new BigDecimal(discountPct));
+    }
+
+    private static SalesOrderLine line(BigDecimal unitPrice, int quantity, BigDecimal discountPct) {
+        SalesOrderLine line = new SalesOrderLine();
+        line.setUnitPrice(unitPrice);
+        line.setQuantity(quantity);
+        line.setDiscountPct(discountPct);
+        return line;
+    }
+
+    private static BigDecimal referenceLineTotal(SalesOrderLine line) {
+        BigDecimal discountFactor = BigDecimal.ONE.subtract(
+                line.getDiscountPct().divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP));
+        return line.getUnitPrice()
+                .multiply(BigDecimal.valueOf(line.getQuantity()))
+                .multiply(discountFactor)
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,109 @@
+package com.axseniors.salesorders.service;
+
+import com.axseniors.salesorders.dto.OrderLineRequest;
+import com.axseniors.salesorders.dto.OrderResponse;
+import com.axseniors.salesorders.dto.OrderTotalsReport;
+import com.axseniors.salesorders.dto.OrderUpsertRequest;
+import com.axseniors.salesorders.repo.CustomerRepo;
+import com.axseniors.salesorders.repo.ProductRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderTotalsMaintenanceServiceTests {
+
+    @Autowired
+    private OrderTotalsMaintenanceService orderTotalsMaintenanceService;
+
+    @Autowired
+    private SalesOrderService salesOrderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CustomerRepo customerRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Test
+    void readsCalculateMissingTotalsWithoutStoringThemAndTheBackfillStoresThem() {
+        OrderResponse order = salesOrderService.createOrder(orderRequest());
+        clearStoredTotals(order.getId());
+
+        OrderResponse read = salesOrderService.getOrder(order.getId());
+        assertThat(read.getOrderTotal()).isEqualByComparingTo(order.getOrderTotal());
+        assertThat(read.getOrderDiscountTotal()).isEqualByComparingTo(order.getOrderDiscountTotal());
+        assertThat(read.getLines()).extracting(line -> line.getLineTotal().toPlainString())
+                .containsExactlyInAnyOrderElementsOf(order.getLines().stream().map(line -> line.getLineTotal().toPlainString()).toList());
+        assertThat(storedOrderTotal(order.getId())).isNull();
+        assertThat(orderTotalsMaintenanceService.verifyTotals().getOrdersMissingTotals()).isPositive();
+
+        assertThat(orderTotalsMaintenanceService.backfillMissingTotals()).isPositive();
+
+        assertThat(storedOrderTotal(order.getId())).isEqualByComparingTo(order.getOrderTotal());
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from sales_order_lines where order_id = ? and line_total is null", Long.class, order.getId()))
+                .isZero();
+        OrderTotalsReport report = orderTotalsMaintenanceService.verifyTotals();
+        assertThat(report.getOrdersMissingTotals()).isZero();
+        assertThat(report.getSampleMismatchedOrderIds()).doesNotContain(order.getId());
+    }
+
+    @Test
+    void verifyReportsStoredTotalsThatDisagreeWithTheLines() {
+        OrderResponse order = salesOrderService.createOrder(orderRequest());
+        jdbcTemplate.update("update sales_orders set order_total = order_total + 1 where id = ?", order.getId());
+        try {
+            OrderTotalsReport report = orderTotalsMaintenanceService.verifyTotals();
+
+            assertThat(report.getOrdersMismatched()).isPositive();
+            assertThat(report.getSampleMismatchedOrderIds()).contains(order.getId());
+        } finally {
+            jdbcTemplate.update("update sales_orders set order_total = ? where id = ?", order.getOrderTotal(), order.getId());
+        }
+    }
+
+    private void clearStoredTotals(UUID orderId) {
+        jdbcTemplate.update("""
+                update sales_orders set order_total = null, order_subtotal = null, order_discount_total = null
+                where id = ?
+                """, orderId);
+        jdbcTemplate.update("update sales_order_lines set line_total = null where order_id = ?", orderId);
+    }
+
+    private BigDecimal storedOrderTotal(UUID orderId) {
+        return jdbcTemplate.queryForObject("select order_total from sales_orders where id = ?", BigDecimal.class, orderId);
+    }
+
+    private OrderUpsertRequest orderRequest() {
+        List<OrderLineRequest> lines = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            OrderLineRequest line = new OrderLineRequest();
+            line.setProductId(productRepo.findAll().get(i).getId());
+            line.setQuantity(i + 2);
+            line.setUnitPrice(new BigDecimal("19.99"));
+            line.setDiscountPct(new BigDecimal("12.5"));
+            lines.add(line);
+        }
+
+        OrderUpsertRequest request = new OrderUpsertRequest();
+        request.setCustomerId(customerRepo.findAll().get(0).getId());
+        request.setOrderDate(LocalDate.now());
+        request.setLines(lines);
+        return request;
+    }
+}
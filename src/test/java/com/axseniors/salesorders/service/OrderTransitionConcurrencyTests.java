@@ -0,0 +1,107 @@
+package com.axseniors.salesorders.service;
+
+import com.axseniors.salesorders.domain.Customer;
+import com.axseniors.salesorders.domain.Product;
+import com.axseniors.salesorders.domain.SalesOrderStatus;
+import com.axseniors.salesorders.dto.OrderLineRequest;
+import com.axseniors.salesorders.dto.OrderResponse;
+import com.axseniors.salesorders.dto.OrderUpsertRequest;
+import com.axseniors.salesorders.repo.CustomerRepo;
+import com.axseniors.salesorders.repo.ProductRepo;
+import com.axseniors.salesorders.repo.SalesOrderRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderTransitionConcurrencyTests {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private SalesOrderService salesOrderService;
+
+    @Autowired
+    private SalesOrderRepo salesOrderRepo;
+
+    @Autowired
+    private CustomerRepo customerRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Test
+    void concurrentConfirmsLetExactlyOneWin() throws Exception {
+        OrderResponse order = salesOrderService.createOrder(draftRequest());
+        AtomicInteger confirmed = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        salesOrderService.confirmOrder(order.getId());
+                        confirmed.incrementAndGet();
+                    } catch (ResponseStatusException ex) {
+                        assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+                        conflicts.incrementAndGet();
+                    } catch (ConcurrencyFailureException ex) {
+                        conflicts.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(confirmed.get()).isEqualTo(1);
+        assertThat(conflicts.get()).isEqualTo(THREADS - 1);
+        assertThat(salesOrderRepo.findStatusById(order.getId())).contains(SalesOrderStatus.CONFIRMED);
+    }
+
+    private OrderUpsertRequest draftRequest() {
+        Customer customer = customerRepo.findAll().get(0);
+        Product product = productRepo.findAll().get(0);
+
+        OrderLineRequest line = new OrderLineRequest();
+        line.setProductId(product.getId());
+        line.setQuantity(1);
+        line.setUnitPrice(new BigDecimal("10.00"));
+
+        List<OrderLineRequest> lines = new ArrayList<>();
+        lines.add(line);
+
+        OrderUpsertRequest request = new OrderUpsertRequest();
+        request.setCustomerId(customer.getId());
+        request.setOrderDate(LocalDate.now());
+        request.setLines(lines);
+        return request;
+    }
+}
@@ -0,0 +1,141 @@
+package com.axseniors.salesorders.service;
+
+import com.axseniors.salesorders.domain.CancelReason;
+import com.axseniors.salesorders.domain.Customer;
+import com.axseniors.salesorders.domain.Product;
+import com.axseniors.salesorders.dto.AnalyticsFilter;
+import com.axseniors.salesorders.dto.CancelOrderRequest;
+import com.axseniors.salesorders.dto.CancellationReport;
+import com.axseniors.salesorders.dto.CustomerRevenue;
+import com.axseniors.salesorders.dto.OrderLineRequest;
+import com.axseniors.salesorders.dto.OrderResponse;
+import com.axseniors.salesorders.dto.OrderUpsertRequest;
+import com.axseniors.salesorders.dto.PeriodRevenue;
+import com.axseniors.salesorders.dto.ProductRevenue;
+import com.axseniors.salesorders.repo.CustomerRepo;
+import com.axseniors.salesorders.repo.ProductRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SalesAnalyticsServiceTests {
+
+    // A month no other test writes to, so the aggregates only see the orders created here.
+    private static final LocalDate MONTH = LocalDate.of(2001, 3, 1);
+
+    @Autowired
+    private SalesAnalyticsService salesAnalyticsService;
+
+    @Autowired
+    private SalesOrderService salesOrderService;
+
+    @Autowired
+    private CustomerRepo customerRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void aggregatesMatchTheOrdersTheyCover() {
+        Customer customer = customerRepo.findAll().get(0);
+        Product product = productRepo.findAll().get(0);
+        OrderResponse first = salesOrderService.createOrder(order(customer, product, MONTH, 3, "20.00", "10"));
+        OrderResponse second = salesOrderService.createOrder(order(customer, product, MONTH.plusDays(1), 2, "15.00", "0"));
+        OrderResponse cancelled = salesOrderService.createOrder(order(customer, product, MONTH.plusDays(1), 1, "99.00", "0"));
+        CancelOrderRequest cancel = new CancelOrderRequest();
+        cancel.setReason(CancelReason.DUPLICATE);
+        salesOrderService.cancelOrder(cancelled.getId(), cancel);
+
+        AnalyticsFilter filter = AnalyticsFilter.builder()
+                .fromDate(MONTH)
+                .toDate(MONTH.plusMonths(1).minusDays(1))
+                .build();
+        BigDecimal expectedRevenue = first.getOrderTotal().add(second.getOrderTotal());
+
+        List<CustomerRevenue> byCustomer = salesAnalyticsService.revenueByCustomer(filter, 10);
+        assertThat(byCustomer).singleElement().satisfies(row -> {
+            assertThat(row.getCustomerId()).isEqualTo(customer.getId());
+            assertThat(row.getOrders()).isEqualTo(2);
+            assertThat(row.getRevenue()).isEqualByComparingTo(expectedRevenue);
+            assertThat(row.getDiscountTotal()).isEqualByComparingTo("6.00");
+        });
+
+        List<ProductRevenue> byProduct = salesAnalyticsService.revenueByProduct(filter, 10);
+        assertThat(byProduct).singleElement().satisfies(row -> {
+            assertThat(row.getQuantity()).isEqualTo(5);
+            assertThat(row.getRevenue()).isEqualByComparingTo(expectedRevenue);
+            assertThat(row.getDiscountTotal()).isEqualByComparingTo("6.00");
+        });
+
+        assertThat(salesAnalyticsService.revenueByDay(filter)).extracting(PeriodRevenue::getPeriod)
+                .containsExactly(MONTH, MONTH.plusDays(1));
+        assertThat(salesAnalyticsService.revenueByMonth(filter)).singleElement().satisfies(row -> {
+            assertThat(row.getPeriod()).isEqualTo(MONTH);
+            assertThat(row.getRevenue()).isEqualByComparingTo(expectedRevenue);
+        });
+
+        CancellationReport cancellations = salesAnalyticsService.cancellations(filter);
+        assertThat(cancellations.getOrdersPlaced()).isEqualTo(3);
+        assertThat(cancellations.getOrdersCancelled()).isEqualTo(1);
+        assertThat(cancellations.getByReason()).singleElement()
+                .satisfies(row -> assertThat(row.getReason()).isEqualTo(CancelReason.DUPLICATE));
+    }
+
+    @Test
+    void legacyOrdersWithoutStoredTotalsCountTowardsRevenue() {
+        LocalDate month = MONTH.plusMonths(1);
+        Customer customer = customerRepo.findAll().get(0);
+        Product product = productRepo.findAll().get(0);
+        OrderResponse legacy = salesOrderService.createOrder(order(customer, product, month, 3, "20.00", "10"));
+        salesOrderService.createOrder(order(customer, product, month.plusDays(1), 2, "15.00", "0"));
+        // As written before totals were persisted, and not yet backfilled.
+        jdbcTemplate.update("update sales_orders set order_total = null, order_subtotal = null, "
+                + "order_discount_total = null where id = ?", legacy.getId());
+        jdbcTemplate.update("update sales_order_lines set line_total = null where order_id = ?", legacy.getId());
+
+        AnalyticsFilter filter = AnalyticsFilter.builder()
+                .fromDate(month)
+                .toDate(month.plusMonths(1).minusDays(1))
+                .build();
+
+        assertThat(salesAnalyticsService.revenueByCustomer(filter, 10)).singleElement().satisfies(row -> {
+            assertThat(row.getOrders()).isEqualTo(2);
+            assertThat(row.getRevenue()).isEqualByComparingTo("84.00");
+            assertThat(row.getDiscountTotal()).isEqualByComparingTo("6.00");
+        });
+        assertThat(salesAnalyticsService.revenueByMonth(filter)).singleElement()
+                .satisfies(row -> assertThat(row.getRevenue()).isEqualByComparingTo("84.00"));
+    }
+
+    private OrderUpsertRequest order(Customer customer, Product product, LocalDate orderDate,
+                                     int quantity, String unitPrice, String discountPct) {
+        OrderLineRequest line = new OrderLineRequest();
+        line.setProductId(product.getId());
+        line.setQuantity(quantity);
+        line.setUnitPrice(new BigDecimal(unitPrice));
+        line.setDiscountPct(new BigDecimal(discountPct));
+
+        List<OrderLineRequest> lines = new ArrayList<>();
+        lines.add(line);
+
+        OrderUpsertRequest request = new OrderUpsertRequest();
+        request.setCustomerId(customer.getId());
+        request.setOrderDate(orderDate);
+        request.setLines(lines);
+        return request;
+    }
+}
@@ -0,0 +1,97 @@
+package com.axseniors.salesorders.service;
+
+import com.axseniors.salesorders.domain.Customer;
+import com.axseniors.salesorders.domain.Product;
+import com.axseniors.salesorders.dto.OrderLineRequest;
+import com.axseniors.salesorders.dto.OrderUpsertRequest;
+import com.axseniors.salesorders.repo.CustomerRepo;
+import com.axseniors.salesorders.repo.ProductRepo;
+import com.axseniors.salesorders.support.SelectCountingInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.axseniors.salesorders.support.SelectCountingInspector")
+@ActiveProfiles("test")
+class SalesOrderServiceQueryCountTests {
+
+    @Autowired
+    private SalesOrderService salesOrderService;
+
+    @Autowired
+    private CustomerRepo customerRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void createOrderSelectCountDoesNotGrowWithLineCount() {
+        int smallOrderSelects = selectsForCreate(5);
+        int largeOrderSelects = selectsForCreate(300);
+
+        assertThat(largeOrderSelects).isEqualTo(smallOrderSelects);
+    }
+
+    @Test
+    void createOrderReportsEveryMissingProduct() {
+        UUID firstMissing = UUID.randomUUID();
+        UUID secondMissing = UUID.randomUUID();
+        OrderUpsertRequest request = orderRequest(2);
+        request.getLines().add(line(firstMissing));
+        request.getLines().add(line(secondMissing));
+
+        assertThatThrownBy(() -> salesOrderService.createOrder(request))
+                .isInstanceOfSatisfying(ResponseStatusException.class, ex -> {
+                    assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+                    assertThat(ex.getReason()).contains(firstMissing.toString(), secondMissing.toString());
+                });
+    }
+
+    private int selectsForCreate(int lineCount) {
+        OrderUpsertRequest request = orderRequest(lineCount);
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        SelectCountingInspector.reset();
+        salesOrderService.createOrder(request);
+        return SelectCountingInspector.selects();
+    }
+
+    private OrderUpsertRequest orderRequest(int lineCount) {
+        Customer customer = customerRepo.findAll().get(0);
+        List<Product> products = productRepo.findAll();
+
+        List<OrderLineRequest> lines = new ArrayList<>();
+        for (int i = 0; i < lineCount; i++) {
+            lines.add(line(products.get(i % products.size()).getId()));
+        }
+
+        OrderUpsertRequest request = new OrderUpsertRequest();
+        request.setCustomerId(customer.getId());
+        request.setOrderDate(LocalDate.now());
+        request.setLines(lines);
+        return request;
+    }
+
+    private OrderLineRequest line(UUID productId) {
+        OrderLineRequest line = new OrderLineRequest();
+        line.setProductId(productId);
+        line.setQuantity(2);
+        line.setUnitPrice(new BigDecimal("10.00"));
+        return line;
+    }
+}
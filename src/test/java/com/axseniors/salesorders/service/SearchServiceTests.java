@@ -0,0 +1,91 @@
+package com.axseniors.salesorders.service;
+
+import com.axseniors.salesorders.domain.Customer;
+import com.axseniors.salesorders.domain.Product;
+import com.axseniors.salesorders.domain.SearchResultType;
+import com.axseniors.salesorders.dto.OrderLineRequest;
+import com.axseniors.salesorders.dto.OrderUpsertRequest;
+import com.axseniors.salesorders.dto.SearchHit;
+import com.axseniors.salesorders.dto.SearchResponse;
+import com.axseniors.salesorders.repo.CustomerRepo;
+import com.axseniors.salesorders.repo.ProductRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SearchServiceTests {
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private SalesOrderService salesOrderService;
+
+    @Autowired
+    private CustomerRepo customerRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Test
+    void findsOrdersByPartialNumberRankedBySimilarity() {
+        salesOrderService.createOrder(order("QZX-7781"));
+        salesOrderService.createOrder(order("QZX-7781-B"));
+        salesOrderService.createOrder(order("QZX-1200"));
+
+        SearchResponse response = searchService.search("qzx-7781", Set.of(SearchResultType.ORDER), 0, 20);
+
+        assertThat(response.getItems()).extracting(SearchHit::getLabel).containsExactly("QZX-7781", "QZX-7781-B");
+        assertThat(response.getItems().get(0).getScore()).isEqualTo(1.0);
+        assertThat(response.isHasMore()).isFalse();
+
+        SearchResponse firstPage = searchService.search("QZX", Set.of(SearchResultType.ORDER), 0, 2);
+        assertThat(firstPage.getItems()).hasSize(2);
+        assertThat(firstPage.isHasMore()).isTrue();
+        assertThat(searchService.search("QZX", Set.of(SearchResultType.ORDER), 1, 2).getItems()).hasSize(1);
+    }
+
+    @Test
+    void findsCustomersAndProducts() {
+        Customer customer = customerRepo.findAll().get(0);
+        Product product = productRepo.findAll().get(0);
+
+        assertThat(searchService.search(customer.getName().substring(0, 3), null, 0, 50).getItems())
+                .anySatisfy(hit -> assertThat(hit.getId()).isEqualTo(customer.getId()));
+        assertThat(searchService.search(product.getCode(), Set.of(SearchResultType.PRODUCT), 0, 20).getItems())
+                .first().satisfies(hit -> assertThat(hit.getId()).isEqualTo(product.getId()));
+    }
+
+    @Test
+    void rejectsShortTerms() {
+        assertThatThrownBy(() -> searchService.search("ab", null, 0, 20))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    private OrderUpsertRequest order(String orderNumber) {
+        OrderLineRequest line = new OrderLineRequest();
+        line.setProductId(productRepo.findAll().get(0).getId());
+        line.setQuantity(1);
+        line.setUnitPrice(new BigDecimal("10.00"));
+        line.setDiscountPct(BigDecimal.ZERO);
+
+        OrderUpsertRequest request = new OrderUpsertRequest();
+        request.setOrderNumber(orderNumber);
+        request.setCustomerId(customerRepo.findAll().get(0).getId());
+        request.setOrderDate(LocalDate.of(2004, 2, 3));
+        request.setLines(List.of(line));
+        return request;
+    }
+}
@@ -0,0 +1,94 @@
+package com.axseniors.salesorders.service;
+
+import com.axseniors.salesorders.dto.OrderLineRequest;
+import com.axseniors.salesorders.dto.OrderResponse;
+import com.axseniors.salesorders.dto.OrderUpsertRequest;
+import com.axseniors.salesorders.repo.CustomerRepo;
+import com.axseniors.salesorders.repo.ProductRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many more virtual threads than connections creating orders at once, as in virtual-thread mode where the pool is
+ * the only limit. Order number blocks are tiny so refills happen while other threads hold every pool connection;
+ * the requests must queue for a connection and finish, not stall until the pool timeout.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=30000",
+        "sales-orders.order-number.block-size=3",
+        "sales-orders.order-number.pool-size=1"
+})
+@ActiveProfiles("test")
+class SmallPoolOrderCreationTests {
+
+    private static final int THREADS = 200;
+
+    @Autowired
+    private SalesOrderService salesOrderService;
+
+    @Autowired
+    private CustomerRepo customerRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Test
+    void concurrentCreatesQueueForTheSmallPoolAndAllComplete() throws Exception {
+        OrderUpsertRequest request = orderRequest();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<OrderResponse>> futures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return salesOrderService.createOrder(request);
+                }));
+            }
+            start.countDown();
+
+            List<UUID> ids = new ArrayList<>();
+            List<String> numbers = new ArrayList<>();
+            for (Future<OrderResponse> future : futures) {
+                OrderResponse order = future.get(60, TimeUnit.SECONDS);
+                ids.add(order.getId());
+                numbers.add(order.getOrderNumber());
+            }
+
+            assertThat(ids).doesNotHaveDuplicates().hasSize(THREADS);
+            assertThat(numbers).doesNotHaveDuplicates();
+        }
+    }
+
+    private OrderUpsertRequest orderRequest() {
+        OrderLineRequest line = new OrderLineRequest();
+        line.setProductId(productRepo.findAll().get(0).getId());
+        line.setQuantity(1);
+        line.setUnitPrice(new BigDecimal("10.00"));
+
+        List<OrderLineRequest> lines = new ArrayList<>();
+        lines.add(line);
+
+        OrderUpsertRequest request = new OrderUpsertRequest();
+        request.setCustomerId(customerRepo.findAll().get(0).getId());
+        request.setOrderDate(LocalDate.now());
+        request.setLines(lines);
+        return request;
+    }
+}
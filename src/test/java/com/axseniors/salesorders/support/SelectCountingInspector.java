@@ -0,0 +1,38 @@
+package com.axseniors.salesorders.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class SelectCountingInspector implements StatementInspector {
+
+    private static final AtomicInteger SELECTS = new AtomicInteger();
+    private static final AtomicReference<String> LAST_SELECT = new AtomicReference<>();
+
+    public static void reset() {
+        SELECTS.set(0);
+        LAST_SELECT.set(null);
+    }
+
+    public static int selects() {
+        return SELECTS.get();
+    }
+
+    /**
+     * The SQL of the last select Hibernate issued since {@link #reset()}, with its {@code ?} placeholders.
+     */
+    public static String lastSelect() {
+        return LAST_SELECT.get();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select")) {
+            SELECTS.incrementAndGet();
+            LAST_SELECT.set(sql);
+        }
+        return sql;
+    }
+}
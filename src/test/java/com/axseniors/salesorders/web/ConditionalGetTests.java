@@ -0,0 +1,118 @@
+package com.axseniors.salesorders.web;
+
+import com.axseniors.salesorders.dto.CustomerRequest;
+import com.axseniors.salesorders.dto.CustomerResponse;
+import com.axseniors.salesorders.dto.OrderLineRequest;
+import com.axseniors.salesorders.dto.OrderResponse;
+import com.axseniors.salesorders.dto.OrderUpsertRequest;
+import com.axseniors.salesorders.repo.CustomerRepo;
+import com.axseniors.salesorders.repo.ProductRepo;
+import com.axseniors.salesorders.service.MasterDataService;
+import com.axseniors.salesorders.service.SalesOrderService;
+import com.axseniors.salesorders.support.SelectCountingInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.axseniors.salesorders.support.SelectCountingInspector")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SalesOrderService salesOrderService;
+
+    @Autowired
+    private MasterDataService masterDataService;
+
+    @Autowired
+    private CustomerRepo customerRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Test
+    void orderIsNotResentUntilItChanges() throws Exception {
+        OrderResponse order = salesOrderService.createOrder(orderRequest());
+        String url = "/api/orders/" + order.getId();
+
+        String etag = mockMvc.perform(get(url)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified());
+
+        salesOrderService.confirmOrder(order.getId());
+        String changed = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changed).isNotEqualTo(etag);
+    }
+
+    @Test
+    void productListAnswersNotModifiedForCurrentETag() throws Exception {
+        String etag = mockMvc.perform(get("/api/products")).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/products").header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified());
+    }
+
+    @Test
+    void customerListETagFollowsUpdatesAndNotModifiedOnlyReadsTheVersion() throws Exception {
+        CustomerResponse customer = masterDataService.createCustomer(customerRequest("ETag before"));
+        String etag = mockMvc.perform(get("/api/customers")).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        SelectCountingInspector.reset();
+        mockMvc.perform(get("/api/customers").header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified());
+        assertThat(SelectCountingInspector.selects()).isEqualTo(1);
+
+        masterDataService.updateCustomer(customer.getId(), customerRequest("ETag after"));
+        String changed = mockMvc.perform(get("/api/customers").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changed).isNotEqualTo(etag);
+    }
+
+    private static CustomerRequest customerRequest(String name) {
+        CustomerRequest request = new CustomerRequest();
+        request.setName(name);
+        request.setContactName("Contact");
+        request.setEmail("etag@example.com");
+        request.setPhone("600 000 000");
+        request.setTaxId("ETAG-" + UUID.randomUUID());
+        return request;
+    }
+
+    private OrderUpsertRequest orderRequest() {
+        OrderLineRequest line = new OrderLineRequest();
+        line.setProductId(productRepo.findAll().get(0).getId());
+        line.setQuantity(1);
+        line.setUnitPrice(new BigDecimal("10.00"));
+
+        List<OrderLineRequest> lines = new ArrayList<>();
+        lines.add(line);
+
+        OrderUpsertRequest request = new OrderUpsertRequest();
+        request.setCustomerId(customerRepo.findAll().get(0).getId());
+        request.setOrderDate(LocalDate.now());
+        request.setLines(lines);
+        return request;
+    }
+}
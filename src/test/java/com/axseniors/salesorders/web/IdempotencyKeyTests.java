@@ -0,0 +1,165 @@
+package com.axseniors.salesorders.web;
+
+import com.axseniors.salesorders.dto.OrderLineRequest;
+import com.axseniors.salesorders.dto.OrderUpsertRequest;
+import com.axseniors.salesorders.idempotency.IdempotencyStore;
+import com.axseniors.salesorders.repo.CustomerRepo;
+import com.axseniors.salesorders.repo.ProductRepo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IdempotencyKeyTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CustomerRepo customerRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Test
+    void retryReturnsTheStoredResponse() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String body = objectMapper.writeValueAsString(orderRequest());
+
+        MockHttpServletResponse first = createOrder(key, body);
+        MockHttpServletResponse retry = createOrder(key, body);
+
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(retry.getStatus()).isEqualTo(200);
+        assertThat(first.getHeader("Idempotent-Replayed")).isNull();
+        assertThat(retry.getHeader("Idempotent-Replayed")).isEqualTo("true");
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+    }
+
+    @Test
+    void keyReusedForAnotherRequestIsRejected() throws Exception {
+        String key = UUID.randomUUID().toString();
+        createOrder(key, objectMapper.writeValueAsString(orderRequest()));
+
+        assertThat(createOrder(key, objectMapper.writeValueAsString(orderRequest())).getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    void concurrentRequestsWithTheSameKeyCreateOneOrder() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String body = objectMapper.writeValueAsString(orderRequest());
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<MockHttpServletResponse>> calls = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                calls.add(() -> createOrder(key, body));
+            }
+            Set<UUID> orderIds = executor.invokeAll(calls).stream()
+                    .map(IdempotencyKeyTests::orderId)
+                    .collect(Collectors.toSet());
+            assertThat(orderIds).hasSize(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void runningRequestKeepsItsReservationPastTheInFlightTimeout() {
+        String key = UUID.randomUUID().toString();
+        String ownerToken = idempotencyStore.reserve(key, "hash");
+        // As if the request had been running for almost the whole in-flight timeout.
+        jdbcTemplate.update("update idempotency_keys set expires_at = ? where idempotency_key = ?",
+                Timestamp.from(Instant.now().plusSeconds(1)), key);
+
+        idempotencyStore.extendReservations();
+
+        Instant expiresAt = jdbcTemplate.queryForObject(
+                "select expires_at from idempotency_keys where idempotency_key = ?", Timestamp.class, key).toInstant();
+        assertThat(expiresAt).isAfter(Instant.now().plus(idempotencyStore.inFlightTimeout()).minusSeconds(5));
+        idempotencyStore.release(key, ownerToken);
+        assertThat(idempotencyStore.find(key)).isEmpty();
+    }
+
+    @Test
+    void lostReservationCannotBeCompletedOrReleasedByItsFormerOwner() {
+        String key = UUID.randomUUID().toString();
+        String staleToken = idempotencyStore.reserve(key, "hash");
+        // The reservation expired and another request took the key.
+        jdbcTemplate.update("delete from idempotency_keys where idempotency_key = ?", key);
+        String currentToken = idempotencyStore.reserve(key, "hash");
+
+        idempotencyStore.complete(key, staleToken, "hash", 200, MediaType.APPLICATION_JSON_VALUE, "{}");
+        idempotencyStore.release(key, staleToken);
+
+        assertThat(idempotencyStore.find(key)).hasValueSatisfying(entry -> assertThat(entry.isCompleted()).isFalse());
+        idempotencyStore.complete(key, currentToken, "hash", 201, MediaType.APPLICATION_JSON_VALUE, "{}");
+        assertThat(idempotencyStore.find(key)).hasValueSatisfying(entry -> assertThat(entry.statusCode()).isEqualTo(201));
+    }
+
+    private MockHttpServletResponse createOrder(String key, String body) throws Exception {
+        return mockMvc.perform(post("/api/orders")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andReturn().getResponse();
+    }
+
+    private static UUID orderId(Future<MockHttpServletResponse> response) {
+        try {
+            return UUID.fromString(new ObjectMapper().readTree(response.get().getContentAsString()).get("id").asText());
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private OrderUpsertRequest orderRequest() {
+        OrderLineRequest line = new OrderLineRequest();
+        line.setProductId(productRepo.findAll().get(0).getId());
+        line.setQuantity(1);
+        line.setUnitPrice(new BigDecimal("10.00"));
+        line.setDiscountPct(BigDecimal.ZERO);
+
+        OrderUpsertRequest request = new OrderUpsertRequest();
+        request.setOrderNumber("IDEM-" + UUID.randomUUID());
+        request.setCustomerId(customerRepo.findAll().get(0).getId());
+        request.setOrderDate(LocalDate.now());
+        request.setLines(List.of(line));
+        return request;
+    }
+}
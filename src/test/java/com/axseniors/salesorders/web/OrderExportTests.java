@@ -0,0 +1,197 @@
+package com.axseniors.salesorders.web;
+
+import com.axseniors.salesorders.domain.SalesOrder;
+import com.axseniors.salesorders.dto.BulkOrderItemResult;
+import com.axseniors.salesorders.dto.OrderLineRequest;
+import com.axseniors.salesorders.dto.OrderResponse;
+import com.axseniors.salesorders.dto.OrderUpsertRequest;
+import com.axseniors.salesorders.repo.CustomerRepo;
+import com.axseniors.salesorders.repo.ProductRepo;
+import com.axseniors.salesorders.service.OrderArchiveService;
+import com.axseniors.salesorders.service.OrderExportService;
+import com.axseniors.salesorders.service.SalesOrderService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Seeds a few export chunks' worth of orders and removes them afterwards.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderExportTests {
+
+    private static final int ORDERS = 800;
+    // Orders per chunk in OrderExportService
+    private static final int CHUNK_SIZE = 250;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private SalesOrderService salesOrderService;
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CustomerRepo customerRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    private final List<UUID> seeded = new ArrayList<>();
+
+    @BeforeAll
+    void seedOrders() {
+        UUID customerId = customerRepo.findAll().get(0).getId();
+        UUID productId = productRepo.findAll().get(0).getId();
+        List<OrderUpsertRequest> requests = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            requests.add(orderRequest(customerId, productId));
+        }
+        salesOrderService.createOrders(requests).stream().map(BulkOrderItemResult::getOrderId).forEach(seeded::add);
+    }
+
+    @AfterAll
+    void deleteSeededOrders() {
+        for (UUID id : seeded) {
+            jdbcTemplate.update("delete from sales_order_lines where order_id = ?", id);
+            jdbcTemplate.update("delete from sales_orders where id = ?", id);
+            jdbcTemplate.update("delete from order_outbox where aggregate_id = ?", id);
+        }
+    }
+
+    @Test
+    void exportStreamsOneLinePerOrderUnderItsOwnTimeout() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/orders/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(started.getRequest().getAsyncContext().getTimeout())
+                .isEqualTo(orderExportService.getTimeout().toMillis());
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+
+        String body = started.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        long orders = jdbcTemplate.queryForObject("select count(*) from sales_orders", Long.class)
+                + jdbcTemplate.queryForObject("select count(*) from sales_orders_archive", Long.class);
+        assertThat(body.lines().count()).isEqualTo(orders);
+        assertThat(body.lines()).allMatch(line -> line.startsWith("{") && line.endsWith("}"));
+    }
+
+    @Test
+    void exportIncludesArchivedOrders() throws IOException {
+        UUID customerId = customerRepo.findAll().get(0).getId();
+        UUID productId = productRepo.findAll().get(0).getId();
+        OrderUpsertRequest request = orderRequest(customerId, productId);
+        // Older than the retention as of 1982, and before the dates any other test archives.
+        request.setOrderDate(LocalDate.of(1980, 1, 10));
+        OrderResponse order = salesOrderService.createOrder(request);
+        assertThat(orderArchiveService.archive(LocalDate.of(1982, 6, 1))).isEqualTo(1);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        orderExportService.exportNdjson(out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8).lines())
+                .filteredOn(line -> line.contains(order.getId().toString()))
+                .singleElement()
+                .satisfies(line -> assertThat(line).contains(order.getOrderNumber(), productId.toString()));
+    }
+
+    @Test
+    void exportDoesNotKeepExportedOrdersManaged() {
+        AtomicInteger mostManaged = new AtomicInteger();
+
+        Integer managedAfter = new TransactionTemplate(transactionManager).execute(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            OutputStream sink = new OutputStream() {
+                @Override
+                public void write(int b) {
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    mostManaged.accumulateAndGet(managedOrders(session), Math::max);
+                }
+            };
+            try {
+                orderExportService.exportNdjson(sink);
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+            return session.getStatistics().getEntityCount();
+        });
+
+        assertThat(mostManaged.get()).isPositive().isLessThanOrEqualTo(CHUNK_SIZE);
+        assertThat(managedAfter).isZero();
+    }
+
+    private static int managedOrders(Session session) {
+        return (int) session.getStatistics().getEntityKeys().stream()
+                .filter(key -> SalesOrder.class.getName().equals(key.getEntityName()))
+                .count();
+    }
+
+    private static OrderUpsertRequest orderRequest(UUID customerId, UUID productId) {
+        OrderLineRequest line = new OrderLineRequest();
+        line.setProductId(productId);
+        line.setQuantity(1);
+        line.setUnitPrice(new BigDecimal("10.00"));
+
+        List<OrderLineRequest> lines = new ArrayList<>();
+        lines.add(line);
+
+        OrderUpsertRequest request = new OrderUpsertRequest();
+        request.setCustomerId(customerId);
+        request.setOrderDate(LocalDate.now());
+        request.setLines(lines);
+        return request;
+    }
+}